@@ -0,0 +1,87 @@
+package net.lenni0451.asmevents.benchmark;
+
+import net.lenni0451.asmevents.EventBus;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Calling a single listener compared to plain reflection, a method handle and direct calls
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class BaselineBenchmark {
+
+    private static final MethodHandle METHOD_HANDLE;
+
+    static {
+        try {
+            METHOD_HANDLE = MethodHandles.lookup().findVirtual(BenchmarkListener.class, "onSimpleBaseline", MethodType.methodType(void.class, BenchmarkEvents.SimpleEvent.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final BenchmarkListener listener = new BenchmarkListener();
+    private final BenchmarkEvents.SimpleEvent event = new BenchmarkEvents.SimpleEvent();
+    private final Consumer<BenchmarkEvents.SimpleEvent> consumer = this.listener::onSimpleBaseline;
+    private Method method;
+    private EventBus eventBus;
+    private EventBus wrapperEventBus;
+
+    @Setup(Level.Trial)
+    public void setup() throws NoSuchMethodException {
+        this.method = BenchmarkListener.class.getDeclaredMethod("onSimpleBaseline", BenchmarkEvents.SimpleEvent.class);
+        this.eventBus = new EventBus();
+        this.eventBus.register(this.listener);
+        this.wrapperEventBus = new EventBus();
+        this.wrapperEventBus.setDirectInvocation(false);
+        this.wrapperEventBus.register(this.listener);
+    }
+
+    @Benchmark
+    public long direct() {
+        this.listener.onSimpleBaseline(this.event);
+        return this.listener.calls;
+    }
+
+    @Benchmark
+    public long interfaceCall() {
+        this.consumer.accept(this.event);
+        return this.listener.calls;
+    }
+
+    @Benchmark
+    public long methodHandle() throws Throwable {
+        METHOD_HANDLE.invokeExact(this.listener, this.event);
+        return this.listener.calls;
+    }
+
+    @Benchmark
+    public long reflection() throws ReflectiveOperationException {
+        this.method.invoke(this.listener, this.event);
+        return this.listener.calls;
+    }
+
+    @Benchmark
+    public long eventBus() {
+        this.eventBus.call(this.event);
+        return this.listener.calls;
+    }
+
+    @Benchmark
+    public long eventBusWrapper() {
+        this.wrapperEventBus.call(this.event);
+        return this.listener.calls;
+    }
+
+}
@@ -0,0 +1,43 @@
+package net.lenni0451.asmevents.benchmark;
+
+import net.lenni0451.asmevents.event.EnumPipelineSafety;
+import net.lenni0451.asmevents.event.IEvent;
+import net.lenni0451.asmevents.event.PipelineSafety;
+import net.lenni0451.asmevents.event.enums.EnumEventType;
+import net.lenni0451.asmevents.event.wrapper.CancellableEvent;
+import net.lenni0451.asmevents.event.wrapper.StoppableEvent;
+import net.lenni0451.asmevents.event.wrapper.TypedEvent;
+
+/**
+ * All events used by the benchmarks
+ */
+public class BenchmarkEvents {
+
+    public static class SimpleEvent implements IEvent {
+    }
+
+    public static class Cancellable extends CancellableEvent {
+    }
+
+    public static class Stoppable extends StoppableEvent {
+    }
+
+    public static class Typed extends TypedEvent {
+        public Typed(final EnumEventType type) {
+            super(type);
+        }
+    }
+
+    @PipelineSafety(EnumPipelineSafety.PRINT)
+    public static class PrintSafetyEvent implements IEvent {
+    }
+
+    @PipelineSafety(EnumPipelineSafety.ERROR_LISTENER)
+    public static class ErrorListenerSafetyEvent implements IEvent {
+    }
+
+    @PipelineSafety(EnumPipelineSafety.IGNORE)
+    public static class IgnoreSafetyEvent implements IEvent {
+    }
+
+}
@@ -0,0 +1,77 @@
+package net.lenni0451.asmevents.benchmark;
+
+import net.lenni0451.asmevents.event.EventTarget;
+import net.lenni0451.asmevents.event.IEvent;
+import net.lenni0451.asmevents.event.enums.EnumEventType;
+
+/**
+ * Listener for all benchmark events<br>
+ * Every call increments a counter which is returned by the benchmarks so the calls can not be eliminated
+ */
+public class BenchmarkListener {
+
+    public long calls;
+
+    @EventTarget
+    public void onSimple(final BenchmarkEvents.SimpleEvent event) {
+        this.calls++;
+    }
+
+    @EventTarget
+    public void onCancellable(final BenchmarkEvents.Cancellable event) {
+        this.calls++;
+    }
+
+    @EventTarget(skipCancelled = true)
+    public void onCancellableSkip(final BenchmarkEvents.Cancellable event) {
+        this.calls++;
+    }
+
+    @EventTarget
+    public void onStoppable(final BenchmarkEvents.Stoppable event) {
+        this.calls++;
+    }
+
+    @EventTarget(type = EnumEventType.PRE)
+    public void onTyped(final BenchmarkEvents.Typed event) {
+        this.calls++;
+    }
+
+    @EventTarget
+    public void onPrintSafety(final BenchmarkEvents.PrintSafetyEvent event) {
+        this.calls++;
+    }
+
+    @EventTarget
+    public void onErrorListenerSafety(final BenchmarkEvents.ErrorListenerSafetyEvent event) {
+        this.calls++;
+    }
+
+    @EventTarget
+    public void onIgnoreSafety(final BenchmarkEvents.IgnoreSafetyEvent event) {
+        this.calls++;
+    }
+
+    /**
+     * Method used by the reflection, method handle and direct call baselines
+     */
+    public void onSimpleBaseline(final BenchmarkEvents.SimpleEvent event) {
+        this.calls++;
+    }
+
+
+    /**
+     * Listener which receives every event through the IEvent interface
+     */
+    public static class CatchAll {
+
+        public long calls;
+
+        @EventTarget
+        public void onEvent(final IEvent event) {
+            this.calls++;
+        }
+
+    }
+
+}
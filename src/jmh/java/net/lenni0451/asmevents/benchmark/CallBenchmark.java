@@ -0,0 +1,45 @@
+package net.lenni0451.asmevents.benchmark;
+
+import net.lenni0451.asmevents.EventBus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Call time depending on the amount of listener
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class CallBenchmark {
+
+    @Param({"1", "10", "100", "1000", "10000"})
+    public int listenerCount;
+    @Param({"true", "false"})
+    public boolean directInvocation;
+
+    private EventBus eventBus;
+    private BenchmarkEvents.SimpleEvent event;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.eventBus = new EventBus();
+        this.eventBus.setDirectInvocation(this.directInvocation);
+        for (int i = 0; i < this.listenerCount; i++) this.eventBus.register(new BenchmarkListener());
+        this.event = new BenchmarkEvents.SimpleEvent();
+    }
+
+    @Benchmark
+    public BenchmarkEvents.SimpleEvent call() {
+        return this.eventBus.call(this.event);
+    }
+
+    @Benchmark
+    public BenchmarkEvents.SimpleEvent callNewEvent() {
+        return this.eventBus.call(new BenchmarkEvents.SimpleEvent());
+    }
+
+}
@@ -0,0 +1,37 @@
+package net.lenni0451.asmevents.benchmark;
+
+import net.lenni0451.asmevents.EventBus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Call time with additional catch-all {@link net.lenni0451.asmevents.event.IEvent} listener next to one specific listener
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class CatchAllBenchmark {
+
+    @Param({"0", "1", "10"})
+    public int catchAllCount;
+
+    private EventBus eventBus;
+    private final BenchmarkEvents.SimpleEvent event = new BenchmarkEvents.SimpleEvent();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.eventBus = new EventBus();
+        this.eventBus.register(new BenchmarkListener());
+        for (int i = 0; i < this.catchAllCount; i++) this.eventBus.register(new BenchmarkListener.CatchAll());
+    }
+
+    @Benchmark
+    public BenchmarkEvents.SimpleEvent call() {
+        return this.eventBus.call(this.event);
+    }
+
+}
@@ -0,0 +1,75 @@
+package net.lenni0451.asmevents.benchmark;
+
+import net.lenni0451.asmevents.EventBus;
+import net.lenni0451.asmevents.event.enums.EnumEventType;
+import net.lenni0451.asmevents.pool.EventPool;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Call time of the special event types compared to a simple event
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class EventTypeBenchmark {
+
+    private static final int LISTENER_COUNT = 10;
+
+    private EventBus eventBus;
+    private final BenchmarkEvents.SimpleEvent simpleEvent = new BenchmarkEvents.SimpleEvent();
+    private final BenchmarkEvents.Cancellable cancellable = new BenchmarkEvents.Cancellable();
+    private final BenchmarkEvents.Stoppable stoppable = new BenchmarkEvents.Stoppable();
+    private final BenchmarkEvents.Typed pre = new BenchmarkEvents.Typed(EnumEventType.PRE);
+    private final BenchmarkEvents.Typed post = new BenchmarkEvents.Typed(EnumEventType.POST);
+    private final EventPool<BenchmarkEvents.Cancellable> cancellablePool = new EventPool<>(BenchmarkEvents.Cancellable::new);
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.eventBus = new EventBus();
+        for (int i = 0; i < LISTENER_COUNT; i++) this.eventBus.register(new BenchmarkListener());
+    }
+
+    @Benchmark
+    public Object simple() {
+        return this.eventBus.call(this.simpleEvent);
+    }
+
+    @Benchmark
+    public Object cancellable() {
+        return this.eventBus.call(this.cancellable);
+    }
+
+    @Benchmark
+    public Object cancellableNew() {
+        return this.eventBus.call(new BenchmarkEvents.Cancellable());
+    }
+
+    @Benchmark
+    public boolean cancellablePooled() {
+        final BenchmarkEvents.Cancellable event = this.cancellablePool.acquire();
+        final boolean cancelled = this.eventBus.call(event).isCancelled();
+        this.cancellablePool.release(event);
+        return cancelled;
+    }
+
+    @Benchmark
+    public Object stoppable() {
+        return this.eventBus.call(this.stoppable);
+    }
+
+    @Benchmark
+    public Object typedMatching() {
+        return this.eventBus.call(this.pre);
+    }
+
+    @Benchmark
+    public Object typedSkipped() {
+        return this.eventBus.call(this.post);
+    }
+
+}
@@ -0,0 +1,52 @@
+package net.lenni0451.asmevents.benchmark;
+
+import net.lenni0451.asmevents.EventBus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of multiple threads calling the same bus, with and without a thread changing the listener at the same time
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public class MultiThreadBenchmark {
+
+    private static final int LISTENER_COUNT = 10;
+
+    private EventBus eventBus;
+    private final BenchmarkEvents.SimpleEvent event = new BenchmarkEvents.SimpleEvent();
+    private final BenchmarkListener churnListener = new BenchmarkListener();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.eventBus = new EventBus();
+        for (int i = 0; i < LISTENER_COUNT; i++) this.eventBus.register(new BenchmarkListener());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public BenchmarkEvents.SimpleEvent call() {
+        return this.eventBus.call(this.event);
+    }
+
+    @Benchmark
+    @Group("churn")
+    @GroupThreads(3)
+    public BenchmarkEvents.SimpleEvent callWhileChanging() {
+        return this.eventBus.call(this.event);
+    }
+
+    @Benchmark
+    @Group("churn")
+    @GroupThreads(1)
+    public void changeListener() {
+        this.eventBus.register(this.churnListener);
+        this.eventBus.unregister(this.churnListener);
+    }
+
+}
@@ -0,0 +1,55 @@
+package net.lenni0451.asmevents.benchmark;
+
+import net.lenni0451.asmevents.EventBus;
+import net.lenni0451.asmevents.event.IEvent;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of the try catch blocks of every {@link net.lenni0451.asmevents.event.EnumPipelineSafety} mode if no exception is thrown
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class PipelineSafetyBenchmark {
+
+    private static final int LISTENER_COUNT = 10;
+
+    @Param({"NONE", "PRINT", "ERROR_LISTENER", "IGNORE"})
+    public String pipelineSafety;
+
+    private EventBus eventBus;
+    private IEvent event;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.eventBus = new EventBus();
+        for (int i = 0; i < LISTENER_COUNT; i++) this.eventBus.register(new BenchmarkListener());
+        switch (this.pipelineSafety) {
+            case "NONE":
+                this.event = new BenchmarkEvents.SimpleEvent();
+                break;
+            case "PRINT":
+                this.event = new BenchmarkEvents.PrintSafetyEvent();
+                break;
+            case "ERROR_LISTENER":
+                this.event = new BenchmarkEvents.ErrorListenerSafetyEvent();
+                break;
+            case "IGNORE":
+                this.event = new BenchmarkEvents.IgnoreSafetyEvent();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown pipeline safety " + this.pipelineSafety);
+        }
+    }
+
+    @Benchmark
+    public IEvent call() {
+        return this.eventBus.call(this.event);
+    }
+
+}
@@ -0,0 +1,53 @@
+package net.lenni0451.asmevents.benchmark;
+
+import net.lenni0451.asmevents.EventBus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of registering and unregistering a listener<br>
+ * All events of the listener have been called before so every change rebuilds (or discards) their pipelines
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class RegisterBenchmark {
+
+    @Param({"false", "true"})
+    public boolean lazyPipelines;
+    @Param({"0", "1000"})
+    public int compileThreshold;
+
+    private EventBus eventBus;
+    private BenchmarkListener listener;
+    private BenchmarkListener.CatchAll catchAll;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.eventBus = new EventBus();
+        this.eventBus.setLazyPipelines(this.lazyPipelines);
+        this.eventBus.setCompileThreshold(this.compileThreshold);
+        this.listener = new BenchmarkListener();
+        this.catchAll = new BenchmarkListener.CatchAll();
+        this.eventBus.register(new BenchmarkListener());
+        this.eventBus.call(new BenchmarkEvents.SimpleEvent());
+        this.eventBus.call(new BenchmarkEvents.Cancellable());
+    }
+
+    @Benchmark
+    public void registerUnregister() {
+        this.eventBus.register(this.listener);
+        this.eventBus.unregister(this.listener);
+    }
+
+    @Benchmark
+    public void registerUnregisterCatchAll() {
+        this.eventBus.register(this.catchAll);
+        this.eventBus.unregister(this.catchAll);
+    }
+
+}
@@ -0,0 +1,2305 @@
+package net.lenni0451.asmevents;
+
+import net.lenni0451.asmevents.event.EnumPipelineSafety;
+import net.lenni0451.asmevents.event.EventTarget;
+import net.lenni0451.asmevents.event.IEvent;
+import net.lenni0451.asmevents.event.PipelineSafety;
+import net.lenni0451.asmevents.event.enums.EnumEventPriority;
+import net.lenni0451.asmevents.event.enums.EnumEventType;
+import net.lenni0451.asmevents.event.types.ICancellableEvent;
+import net.lenni0451.asmevents.event.types.IKeyedEvent;
+import net.lenni0451.asmevents.event.types.IPayloadEvent;
+import net.lenni0451.asmevents.event.types.IStoppableEvent;
+import net.lenni0451.asmevents.event.types.ITypedEvent;
+import net.lenni0451.asmevents.internal.EmptyEventPipeline;
+import net.lenni0451.asmevents.internal.EventPipelineHolder;
+import net.lenni0451.asmevents.internal.GuardedCaller;
+import net.lenni0451.asmevents.internal.IEventPipeline;
+import net.lenni0451.asmevents.internal.IPayloadInvoker;
+import net.lenni0451.asmevents.internal.IWrappedCaller;
+import net.lenni0451.asmevents.internal.InterpretedEventPipeline;
+import net.lenni0451.asmevents.internal.ListenerMethod;
+import net.lenni0451.asmevents.internal.ParallelEventPipeline;
+import net.lenni0451.asmevents.internal.RuntimeThrowErrorListener;
+import net.lenni0451.asmevents.metrics.ListenerMetrics;
+import net.lenni0451.asmevents.metrics.ListenerMetricsSnapshot;
+import net.lenni0451.asmevents.utils.ASMUtils;
+import net.lenni0451.asmevents.utils.ClassCache;
+import net.lenni0451.asmevents.utils.ClassDefiner;
+import net.lenni0451.asmevents.utils.PregeneratedWrappers;
+import net.lenni0451.asmevents.utils.ReflectUtils;
+import net.lenni0451.asmevents.utils.Tuple;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.ClassNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * An independent event bus with its own listeners, pipelines, error listener and generated classes<br>
+ * The static {@link EventManager} uses a default instance of this class
+ */
+public class EventBus {
+
+    private static final IEventPipeline EMPTY_PIPELINE = new EmptyEventPipeline();
+    /**
+     * The maximum amount of listener generated into a single pipeline class<br>
+     * Larger segments are split into chained chunks so every call method stays below the size limit of the JIT ({@code -XX:HugeMethodLimit}, 8000 bytes)<br>
+     * Every listener is generated once, listener with multiple keys look up the key in their key array instead of being part of a switch for every key
+     */
+    private static final int CHUNK_SIZE = 48;
+    private static final MethodHandle WRAPPER_CALL;
+    /**
+     * A handle of the type {@code (IEvent)void} which does nothing, called instead of listener rejected by their guard
+     */
+    private static final MethodHandle SKIP_CALL = MethodHandles.dropArguments(MethodHandles.constant(Object.class, null).asType(MethodType.methodType(void.class)), 0, IEvent.class);
+
+    static {
+        try {
+            WRAPPER_CALL = MethodHandles.publicLookup().unreflect(ReflectUtils.getMethodByArgs(IWrappedCaller.class, IEvent.class));
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * All registered listener methods of every event type<br>
+     * The lists are immutable, sorted by priority and get replaced atomically on every change (copy-on-write)
+     */
+    private final Map<Class<? extends IEvent>, List<ListenerMethod>> eventListener = new ConcurrentHashMap<>();
+    /**
+     * The queue all weak listener references are registered with<br>
+     * It is polled on every (un)register to find out if collected listener have to be removed
+     */
+    private final ReferenceQueue<Object> collectedListeners = new ReferenceQueue<>();
+    /**
+     * The pipeline of every called/registered event class<br>
+     * A {@link ClassValue} lookup is cheaper than a map lookup and does not keep the event class alive
+     */
+    private final ClassValue<EventPipelineHolder> eventPipelines = new ClassValue<EventPipelineHolder>() {
+        @Override
+        protected EventPipelineHolder computeValue(final Class<?> type) {
+            return new EventPipelineHolder();
+        }
+    };
+    private final Set<Class<? extends IEvent>> eventClasses = Collections.newSetFromMap(Collections.synchronizedMap(new WeakHashMap<>()));
+    /**
+     * The invoker of every payload event, created on the first {@link #getInvoker(Class)} call
+     */
+    private final ClassValue<AtomicReference<IPayloadInvoker>> payloadInvokers = new ClassValue<AtomicReference<IPayloadInvoker>>() {
+        @Override
+        protected AtomicReference<IPayloadInvoker> computeValue(final Class<?> type) {
+            return new AtomicReference<>();
+        }
+    };
+    private final ClassDefiner classDefiner = new ClassDefiner();
+    private volatile IErrorListener errorListener = new RuntimeThrowErrorListener();
+    private volatile boolean directInvocation = true;
+    private volatile boolean lazyPipelines = false;
+    private volatile int compileThreshold = 0;
+    private volatile boolean metrics = false;
+    private volatile ForkJoinPool parallelPool = ForkJoinPool.commonPool();
+    /**
+     * The metrics of every listener method per called event class<br>
+     * Only filled if metrics are enabled
+     */
+    private final Map<Tuple<Class<? extends IEvent>, Method>, ListenerMetrics> listenerMetrics = new ConcurrentHashMap<>();
+    private volatile ClassCache classCache;
+    /**
+     * The generated wrapper classes of every listener class<br>
+     * Stored in a {@link ClassValue} so the cache does not keep the listener class and its class loader alive
+     */
+    private final ClassValue<Map<Tuple<Method, Class<? extends IEvent>>, Class<? extends IWrappedCaller>>> wrapperClasses = new ClassValue<Map<Tuple<Method, Class<? extends IEvent>>, Class<? extends IWrappedCaller>>>() {
+        @Override
+        protected Map<Tuple<Method, Class<? extends IEvent>>, Class<? extends IWrappedCaller>> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+    /**
+     * The generated wrapper classes of weak listener which only keep a {@link WeakReference} to the listener instance
+     */
+    private final ClassValue<Map<Tuple<Method, Class<? extends IEvent>>, Class<? extends IWrappedCaller>>> weakWrapperClasses = new ClassValue<Map<Tuple<Method, Class<? extends IEvent>>, Class<? extends IWrappedCaller>>>() {
+        @Override
+        protected Map<Tuple<Method, Class<? extends IEvent>>, Class<? extends IWrappedCaller>> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * Register all events in the class<br>
+     * If the listener is a class only static events are registered<br>
+     *
+     * @param listener The instance or class of the listener
+     */
+    public void register(final Object listener) {
+        this.register(null, listener);
+    }
+
+    /**
+     * Only register a single event type<br>
+     * If the eventClass is null all events are registered<br>
+     * If the listener is a class only static events are registered<br>
+     *
+     * @param eventClass The event you want to register or null to register all events
+     * @param listener   The instance or class of the listener
+     */
+    public void register(final Class<? extends IEvent> eventClass, final Object listener) {
+        final Set<Class<? extends IEvent>> updatedEvents = new HashSet<>();
+        this.registerMethods(eventClass, listener, false, updatedEvents);
+        this.removeCollectedListeners(updatedEvents);
+        this.updatePipelines(updatedEvents);
+    }
+
+    /**
+     * Register all events of multiple listeners at once<br>
+     * Every affected pipeline is only rebuilt once after all listeners have been registered<br>
+     * If a listener is a class only static events are registered
+     *
+     * @param listeners The instances or classes of the listeners
+     */
+    public void registerAll(final Object... listeners) {
+        this.registerAll(null, listeners);
+    }
+
+    /**
+     * Only register a single event type of multiple listeners at once<br>
+     * Every affected pipeline is only rebuilt once after all listeners have been registered<br>
+     * If the eventClass is null all events are registered<br>
+     * If a listener is a class only static events are registered
+     *
+     * @param eventClass The event you want to register or null to register all events
+     * @param listeners  The instances or classes of the listeners
+     */
+    public void registerAll(final Class<? extends IEvent> eventClass, final Object... listeners) {
+        Objects.requireNonNull(listeners);
+        final Set<Class<? extends IEvent>> updatedEvents = new HashSet<>();
+
+        for (Object listener : listeners) this.registerMethods(eventClass, listener, false, updatedEvents);
+        this.removeCollectedListeners(updatedEvents);
+        this.updatePipelines(updatedEvents);
+    }
+
+    /**
+     * Register all events of a listener instance without keeping it alive<br>
+     * The pipelines only hold a weak reference to the listener and skip it once it has been garbage collected<br>
+     * Collected listener are removed on the next (un)register or {@link #cleanUp()}<br>
+     * An instance which is already registered normally stays strongly referenced
+     *
+     * @param listener The instance of the listener
+     * @throws IllegalArgumentException If the listener is a class
+     */
+    public void registerWeak(final Object listener) {
+        this.registerWeak(null, listener);
+    }
+
+    /**
+     * Only register a single event type of a listener instance without keeping it alive<br>
+     * If the eventClass is null all events are registered<br>
+     * The pipelines only hold a weak reference to the listener and skip it once it has been garbage collected<br>
+     * Collected listener are removed on the next (un)register or {@link #cleanUp()}<br>
+     * An instance which is already registered normally stays strongly referenced
+     *
+     * @param eventClass The event you want to register or null to register all events
+     * @param listener   The instance of the listener
+     * @throws IllegalArgumentException If the listener is a class
+     */
+    public void registerWeak(final Class<? extends IEvent> eventClass, final Object listener) {
+        Objects.requireNonNull(listener);
+        if (listener instanceof Class<?>) throw new IllegalArgumentException("Static listener can not be registered weakly");
+        final Set<Class<? extends IEvent>> updatedEvents = new HashSet<>();
+
+        this.registerMethods(eventClass, listener, true, updatedEvents);
+        this.removeCollectedListeners(updatedEvents);
+        this.updatePipelines(updatedEvents);
+    }
+
+    /**
+     * Internal method to register all methods of a listener without updating the pipelines
+     *
+     * @param eventClass    The event you want to register or null to register all events
+     * @param listener      The instance or class of the listener
+     * @param weak          If the listener instance should only be weakly referenced
+     * @param updatedEvents The set all events with changed listeners are added to
+     */
+    private void registerMethods(final Class<? extends IEvent> eventClass, final Object listener, final boolean weak, final Set<Class<? extends IEvent>> updatedEvents) {
+        Objects.requireNonNull(listener);
+        final Class<?> listenerClass = (listener instanceof Class<?> ? (Class<?>) listener : listener.getClass());
+
+        for (Method method : listenerClass.getDeclaredMethods()) {
+            EventTarget eventTarget = method.getDeclaredAnnotation(EventTarget.class);
+            if (eventTarget == null) continue;
+            for (Class<?> type : method.getParameterTypes()) {
+                if (eventClass != null && !eventClass.equals(type)) continue;
+                if (!IEvent.class.isAssignableFrom(type)) continue;
+
+                //Cast is not unchecked, believe me
+                updatedEvents.add((Class<? extends IEvent>) type);
+                this.register((Class<? extends IEvent>) type, listener, method, weak);
+            }
+            for (Class<? extends IEvent> type : eventTarget.noParamEvents()) {
+                if (eventClass != null && !eventClass.equals(type)) continue;
+
+                updatedEvents.add(type);
+                this.register(type, listener, method, weak);
+            }
+        }
+    }
+
+    /**
+     * Internal method to register a listener
+     *
+     * @param eventClass The class of the event to register
+     * @param listener   The class for static or the instance for non static listener
+     * @param method     The method to execute
+     * @param weak       If the listener instance should only be weakly referenced
+     */
+    private void register(final Class<? extends IEvent> eventClass, final Object listener, final Method method, final boolean weak) {
+        Objects.requireNonNull(eventClass);
+        Objects.requireNonNull(listener);
+        Objects.requireNonNull(method);
+
+        if (listener instanceof Class<?> && !Modifier.isStatic(method.getModifiers())) return;
+        if (!(listener instanceof Class<?>) && Modifier.isStatic(method.getModifiers())) return;
+        if (IPayloadEvent.class.isAssignableFrom(eventClass)) checkPayloadListener(eventClass, method);
+
+        final ReferenceQueue<Object> queue = weak ? this.collectedListeners : null;
+        this.eventListener.compute(eventClass, (type, methods) -> {
+            if (methods == null) return Collections.singletonList(new ListenerMethod(eventClass, listener, method, queue));
+            for (ListenerMethod listenerMethod : methods) {
+                if (listener.equals(listenerMethod.getListener()) && listenerMethod.getMethod().equals(method)) return methods;
+            }
+
+            //The wrapped caller is only generated when the pipeline can not call the method directly
+            final ListenerMethod newMethod = new ListenerMethod(eventClass, listener, method, queue);
+            final List<ListenerMethod> newMethods = new ArrayList<>(methods.size() + 1);
+            newMethods.addAll(methods);
+            newMethods.add(getInsertionIndex(methods, newMethod.getPriority()), newMethod);
+            return Collections.unmodifiableList(newMethods);
+        });
+    }
+
+
+    /**
+     * Internal method to find the index a listener has to be inserted at to keep the list sorted by priority<br>
+     * Listener with the same priority keep the order they were registered in
+     *
+     * @param methods  The listener sorted by priority (highest first)
+     * @param priority The priority of the new listener
+     * @return The index after the last listener with the same or a higher priority
+     */
+    private static int getInsertionIndex(final List<ListenerMethod> methods, final EnumEventPriority priority) {
+        int low = 0;
+        int high = methods.size();
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (methods.get(middle).getPriority().compareTo(priority) >= 0) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+
+    /**
+     * Unregister all events from a class or listener instance<br>
+     * If the listener is a class all static events get unregistered<br>
+     * If the listener is an instance all non static events get unregistered
+     *
+     * @param listener The class or instance of the listener
+     */
+    public void unregister(final Object listener) {
+        this.unregisterAll(listener);
+    }
+
+    /**
+     * Unregister all events from multiple classes or listener instances at once<br>
+     * Every affected pipeline is only rebuilt once after all listeners have been unregistered<br>
+     * If a listener is a class all static events get unregistered<br>
+     * If a listener is an instance all non static events get unregistered
+     *
+     * @param listeners The classes or instances of the listeners
+     */
+    public void unregisterAll(final Object... listeners) {
+        Objects.requireNonNull(listeners);
+        final Set<Class<? extends IEvent>> updatedEvents = new HashSet<>();
+
+        for (Object listener : listeners) {
+            Objects.requireNonNull(listener);
+            for (Class<? extends IEvent> eventClass : this.eventListener.keySet()) this.unregisterEvent(eventClass, listener, updatedEvents);
+        }
+        this.removeCollectedListeners(updatedEvents);
+        if (!updatedEvents.isEmpty()) this.removeUnusedMetrics();
+        this.updatePipelines(updatedEvents);
+    }
+
+    /**
+     * Unregister a specific event from a class or listener instance<br>
+     * If the listener is a class all static events get unregistered<br>
+     * If the listener is an instance all non static events get unregistered
+     *
+     * @param eventClass The class of the event to unregister
+     * @param listener   The class or instance of the listener
+     */
+    public void unregister(final Class<? extends IEvent> eventClass, final Object listener) {
+        Objects.requireNonNull(listener);
+        final Set<Class<? extends IEvent>> updatedEvents = new HashSet<>();
+
+        this.unregisterEvent(eventClass, listener, updatedEvents);
+        this.removeCollectedListeners(updatedEvents);
+        if (!updatedEvents.isEmpty()) this.removeUnusedMetrics();
+        this.updatePipelines(updatedEvents);
+    }
+
+    /**
+     * Internal method to unregister a specific event from a listener without updating the pipeline
+     *
+     * @param eventClass    The class of the event to unregister
+     * @param listener      The class or instance of the listener
+     * @param updatedEvents The set all events with changed listeners are added to
+     */
+    private void unregisterEvent(final Class<? extends IEvent> eventClass, final Object listener, final Set<Class<? extends IEvent>> updatedEvents) {
+        Objects.requireNonNull(eventClass);
+
+        this.eventListener.computeIfPresent(eventClass, (type, methods) -> {
+            final List<ListenerMethod> newMethods = new ArrayList<>(methods.size());
+            for (ListenerMethod listenerMethod : methods) {
+                if (!listener.equals(listenerMethod.getListener())) newMethods.add(listenerMethod);
+            }
+            if (newMethods.size() == methods.size()) return methods;
+
+            updatedEvents.add(eventClass);
+            if (newMethods.isEmpty()) return null;
+            else return Collections.unmodifiableList(newMethods);
+        });
+    }
+
+    /**
+     * Remove all weak listener which have been garbage collected and rebuild the affected pipelines<br>
+     * This is done automatically on every (un)register, collected listener are skipped by the pipelines until then
+     */
+    public void cleanUp() {
+        final Set<Class<? extends IEvent>> updatedEvents = new HashSet<>();
+        this.removeCollectedListeners(updatedEvents);
+        this.updatePipelines(updatedEvents);
+    }
+
+    /**
+     * Find all registered listener which still reference an object in one of their fields<br>
+     * Arrays, collections and maps stored in a field are searched too, deeper references are not found<br>
+     * This is slow and only meant for debugging, e.g. to find listener retaining pooled events
+     *
+     * @param object The object to search for
+     * @return The fields referencing the object formatted as {@code Class#field}
+     */
+    public List<String> findRetainingListeners(final Object object) {
+        Objects.requireNonNull(object);
+        final List<String> retainers = new ArrayList<>();
+        final Set<Object> checkedListeners = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (List<ListenerMethod> methods : this.eventListener.values()) {
+            for (ListenerMethod listenerMethod : methods) {
+                final Object listener = listenerMethod.getListener();
+                if (listener == null || !checkedListeners.add(listener)) continue;
+                final boolean isStatic = listener instanceof Class<?>;
+
+                for (Class<?> clazz = isStatic ? (Class<?>) listener : listener.getClass(); clazz != null && !Object.class.equals(clazz); clazz = clazz.getSuperclass()) {
+                    for (Field field : clazz.getDeclaredFields()) {
+                        if (field.getType().isPrimitive() || (isStatic && !Modifier.isStatic(field.getModifiers()))) continue;
+                        try {
+                            field.setAccessible(true);
+                            if (references(field.get(isStatic ? null : listener), object)) retainers.add(clazz.getName() + "#" + field.getName());
+                        } catch (Throwable ignored) { //Inaccessible fields or concurrently modified collections are skipped
+                        }
+                    }
+                }
+            }
+        }
+        return retainers;
+    }
+
+    private static boolean references(final Object value, final Object object) {
+        if (value == object) return true;
+        if (value instanceof Object[]) {
+            for (Object element : (Object[]) value) if (element == object) return true;
+        } else if (value instanceof Iterable) {
+            for (Object element : (Iterable<?>) value) if (element == object) return true;
+        } else if (value instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) if (entry.getKey() == object || entry.getValue() == object) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Internal method to remove all garbage collected weak listener without updating the pipelines<br>
+     * The listener lists are only searched if the reference queue contains a collected listener
+     *
+     * @param updatedEvents The set all events with changed listeners are added to
+     */
+    private void removeCollectedListeners(final Set<Class<? extends IEvent>> updatedEvents) {
+        boolean collected = false;
+        while (this.collectedListeners.poll() != null) collected = true;
+        if (!collected) return;
+
+        for (Class<? extends IEvent> eventClass : this.eventListener.keySet()) {
+            this.eventListener.computeIfPresent(eventClass, (type, methods) -> {
+                final List<ListenerMethod> newMethods = new ArrayList<>(methods.size());
+                for (ListenerMethod listenerMethod : methods) {
+                    if (!listenerMethod.isCollected()) newMethods.add(listenerMethod);
+                }
+                if (newMethods.size() == methods.size()) return methods;
+
+                updatedEvents.add(eventClass);
+                if (newMethods.isEmpty()) return null;
+                else return Collections.unmodifiableList(newMethods);
+            });
+        }
+        this.removeUnusedMetrics();
+    }
+
+    /**
+     * Internal method to remove the metrics of all listener methods which are no longer registered<br>
+     * Otherwise the metrics would keep the listener and event classes (and their class loaders) loaded
+     */
+    private void removeUnusedMetrics() {
+        if (this.listenerMetrics.isEmpty()) return;
+        final Set<Method> registeredMethods = new HashSet<>();
+        for (List<ListenerMethod> methods : this.eventListener.values()) {
+            for (ListenerMethod listenerMethod : methods) registeredMethods.add(listenerMethod.getMethod());
+        }
+        this.listenerMetrics.keySet().removeIf(key -> !registeredMethods.contains(key.getB()));
+    }
+
+
+    /**
+     * Call an event and pass it into the pipeline<br>
+     * All listeners of the event class, its super classes and its interfaces are called in a single pipeline
+     *
+     * @param event The event to call
+     * @return The same event you already passed
+     */
+    public <T extends IEvent> T call(final T event) {
+        Objects.requireNonNull(event);
+
+        try {
+            IEventPipeline pipeline = this.eventPipelines.get(event.getClass()).get();
+            if (pipeline == null) pipeline = this.createPipeline(event.getClass()); //The first call of this event class or the pipeline was discarded
+            if (pipeline != null) pipeline.call(event);
+        } catch (Throwable t) {
+            this.errorListener.onException(t);
+        }
+
+        return event;
+    }
+
+    /**
+     * Call a batch of events of the same class<br>
+     * The pipeline is looked up once and loops over all events in the generated code<br>
+     * This behaves the same as calling every event in order using {@link #call(IEvent)}<br>
+     * If not all events are exactly of the given class they are called one by one
+     *
+     * @param eventClass The class of all events
+     * @param events     The events to call
+     * @return The same events you already passed
+     */
+    public <T extends IEvent> T[] callAll(final Class<T> eventClass, final T[] events) {
+        Objects.requireNonNull(eventClass);
+        Objects.requireNonNull(events);
+
+        for (T event : events) {
+            if (Objects.requireNonNull(event).getClass() != eventClass) {
+                for (T e : events) this.call(e);
+                return events;
+            }
+        }
+        IEventPipeline pipeline = this.eventPipelines.get(eventClass).get();
+        if (pipeline == null) pipeline = this.createPipeline(eventClass);
+        if (pipeline != null) pipeline.callAll(events, this.errorListener);
+        return events;
+    }
+
+    /**
+     * Call a batch of events of the same class<br>
+     * The pipeline is looked up once and loops over all events in the generated code<br>
+     * This behaves the same as calling every event in order using {@link #call(IEvent)}<br>
+     * If not all events are exactly of the given class they are called one by one
+     *
+     * @param eventClass The class of all events
+     * @param events     The events to call
+     * @return The same events you already passed
+     */
+    public <T extends IEvent> List<T> callAll(final Class<T> eventClass, final List<T> events) {
+        Objects.requireNonNull(events);
+
+        this.callAll(eventClass, (T[]) events.toArray(new IEvent[0]));
+        return events;
+    }
+
+    /**
+     * Call an event asynchronously using the given executor<br>
+     * The whole pipeline is executed on a single thread of the executor so the priority order and cancelling/stopping work the same as with {@link #call(IEvent)}<br>
+     * Exceptions are passed to the error listener. If it throws (default behaviour) the returned future is completed exceptionally<br>
+     * The call path does not block, so virtual thread executors can be used without pinning carrier threads
+     *
+     * @param event    The event to call
+     * @param executor The executor to run the pipeline on
+     * @return A future which is completed with the same event after all listeners have been called
+     */
+    public <T extends IEvent> CompletableFuture<T> callAsync(final T event, final Executor executor) {
+        Objects.requireNonNull(event);
+        Objects.requireNonNull(executor);
+
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(this.call(event));
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            });
+        } catch (Throwable t) { //The executor rejected the task
+            future.completeExceptionally(t);
+        }
+        return future;
+    }
+
+    /**
+     * Get the invoker of a payload event<br>
+     * Calling the method of the invoker calls all listener of the event with the passed arguments without creating an event object<br>
+     * The invoker stays valid and always calls the current listener, so it can be stored and reused<br>
+     * Payload pipelines are always generated right away and do not record metrics
+     *
+     * @param eventType The interface of the payload event
+     * @param <T>       The type of the payload event
+     * @return The invoker of the event
+     * @throws IllegalArgumentException If the event is not an interface with a single void method
+     */
+    public <T extends IPayloadEvent> T getInvoker(final Class<T> eventType) {
+        final AtomicReference<IPayloadInvoker> invokerReference = this.payloadInvokers.get(eventType);
+        IPayloadInvoker invoker = invokerReference.get();
+        if (invoker == null) invoker = this.createPayloadInvoker(eventType);
+        return eventType.cast(invoker);
+    }
+
+
+    /**
+     * Build the pipelines of the given event classes now instead of on their first call<br>
+     * Useful with lazy pipelines to move the generation out of the first call
+     *
+     * @param eventClasses The event classes to build the pipelines for
+     */
+    @SafeVarargs
+    public final void warm(final Class<? extends IEvent>... eventClasses) {
+        for (Class<? extends IEvent> eventClass : eventClasses) this.createPipeline(Objects.requireNonNull(eventClass));
+    }
+
+
+    /**
+     * Internal method to recalculate all pipelines affected by changed listeners<br>
+     * The pipelines of all already known event classes which extend/implement a changed event type are rebuilt<br>
+     * Changed event types which can be called themselves are built right away<br>
+     * With lazy pipelines the affected pipelines are only discarded and rebuilt on their next call
+     *
+     * @param eventTypes The list of events with changed listeners
+     */
+    private void updatePipelines(final Collection<Class<? extends IEvent>> eventTypes) {
+        final List<Class<? extends IEvent>> knownClasses;
+        synchronized (this.eventClasses) {
+            knownClasses = new ArrayList<>(this.eventClasses);
+        }
+        final Set<Class<? extends IEvent>> affectedClasses = new LinkedHashSet<>();
+        for (Class<? extends IEvent> eventType : eventTypes) {
+            if (IPayloadEvent.class.isAssignableFrom(eventType)) this.updatePayloadInvoker(eventType);
+            if (!eventType.isInterface() && !Modifier.isAbstract(eventType.getModifiers())) affectedClasses.add(eventType);
+            for (Class<? extends IEvent> eventClass : knownClasses) {
+                if (eventType.isAssignableFrom(eventClass)) affectedClasses.add(eventClass);
+            }
+        }
+        if (this.lazyPipelines) {
+            for (Class<? extends IEvent> eventClass : affectedClasses) this.invalidatePipeline(eventClass);
+        } else {
+            for (Class<? extends IEvent> eventClass : affectedClasses) this.updatePipeline(eventClass);
+        }
+    }
+
+    /**
+     * Internal method to discard the pipeline of an event class so it is rebuilt on the next call<br>
+     * A rebuild which is currently running finishes first and is then discarded
+     *
+     * @param eventType The event class
+     */
+    private void invalidatePipeline(final Class<? extends IEvent> eventType) {
+        final EventPipelineHolder pipelineReference = this.eventPipelines.get(eventType);
+        synchronized (pipelineReference) {
+            pipelineReference.set(null);
+        }
+    }
+
+    /**
+     * Internal method to create the pipeline of an event class if no other thread has already done so
+     *
+     * @param eventType The event class
+     * @return The pipeline or null if it could not be generated
+     */
+    private IEventPipeline createPipeline(final Class<? extends IEvent> eventType) {
+        final EventPipelineHolder pipelineReference = this.eventPipelines.get(eventType);
+        synchronized (pipelineReference) {
+            final IEventPipeline pipeline = pipelineReference.get();
+            if (pipeline != null) return pipeline;
+            return this.updatePipeline(eventType);
+        }
+    }
+
+    /**
+     * Internal method to recalculate and publish the event pipeline of a concrete event class<br>
+     * Rebuilds of the same event class are serialized and always read the latest listeners, so the last published pipeline is never outdated<br>
+     * Calling threads never block and see either the old or the new pipeline<br>
+     * If the first pipeline of an event class can not be generated an empty pipeline is published, so calls do not try again until the listeners change
+     *
+     * @param eventType The event class to recalculate
+     * @return The new pipeline or null if it could not be generated
+     */
+    private IEventPipeline updatePipeline(final Class<? extends IEvent> eventType) {
+        final EventPipelineHolder pipelineReference = this.eventPipelines.get(eventType);
+        synchronized (pipelineReference) {
+            //The class has to be known before the listeners are read so concurrent registrations rebuild it
+            this.eventClasses.add(eventType);
+            final IEventPipeline pipeline = this.compileThreshold > 0 ? this.interpretPipeline(eventType) : this.buildSegments(eventType, pipelineReference);
+            if (pipeline != null) pipelineReference.set(pipeline);
+            else if (pipelineReference.get() == null) pipelineReference.set(EMPTY_PIPELINE);
+            return pipeline;
+        }
+    }
+
+    /**
+     * Internal method to replace an interpreted pipeline with a generated one once it is called often enough<br>
+     * If the listeners changed in the meantime the interpreted pipeline has already been replaced and nothing happens
+     *
+     * @param eventType   The event class of the pipeline
+     * @param interpreted The interpreted pipeline which should be replaced
+     */
+    private void compilePipeline(final Class<? extends IEvent> eventType, final IEventPipeline interpreted) {
+        final EventPipelineHolder pipelineReference = this.eventPipelines.get(eventType);
+        synchronized (pipelineReference) {
+            if (pipelineReference.get() != interpreted) return;
+            final IEventPipeline pipeline = this.buildSegments(eventType, pipelineReference);
+            if (pipeline != null) pipelineReference.set(pipeline);
+        }
+    }
+
+    /**
+     * Internal method to get the listener of an event class and its super classes and interfaces grouped by priority<br>
+     * Listener with the same priority are ordered by the distance of their event type in the hierarchy of the event class and then by registration order<br>
+     * Listener of the exact event class come first, IEvent listener last
+     *
+     * @param eventType The event class
+     * @return The listener of every priority indexed by the ordinal of the priority
+     */
+    private List<ListenerMethod>[] getSegmentListeners(final Class<? extends IEvent> eventType) {
+        final Map<Class<?>, Integer> distances = new HashMap<>();
+        final List<ListenerMethod>[] segmentListeners = new List[EnumEventPriority.values().length];
+        for (int i = 0; i < segmentListeners.length; i++) segmentListeners[i] = new ArrayList<>();
+        for (Map.Entry<Class<? extends IEvent>, List<ListenerMethod>> entry : this.eventListener.entrySet()) {
+            if (!entry.getKey().isAssignableFrom(eventType)) continue;
+            distances.put(entry.getKey(), getHierarchyDistance(eventType, entry.getKey()));
+            for (ListenerMethod listenerMethod : entry.getValue()) segmentListeners[listenerMethod.getPriority().ordinal()].add(listenerMethod);
+        }
+
+        for (List<ListenerMethod> listeners : segmentListeners) {
+            if (listeners.size() < 2) continue;
+            listeners.sort((l1, l2) -> {
+                final int distance = Integer.compare(distances.get(l1.getEventType()), distances.get(l2.getEventType()));
+                return distance != 0 ? distance : Long.compare(l1.getRegistrationIndex(), l2.getRegistrationIndex());
+            });
+        }
+        return segmentListeners;
+    }
+
+    /**
+     * Internal method to get all listener of an event class and its super classes and interfaces
+     *
+     * @param eventType The event class
+     * @return All listener sorted by priority
+     */
+    private List<ListenerMethod> getListeners(final Class<? extends IEvent> eventType) {
+        final List<ListenerMethod>[] segmentListeners = this.getSegmentListeners(eventType);
+        final List<ListenerMethod> allMethods = new ArrayList<>();
+        for (int i = segmentListeners.length - 1; i >= 0; i--) allMethods.addAll(segmentListeners[i]);
+        return allMethods;
+    }
+
+    /**
+     * Internal method to generate the pipeline of an event class out of one segment per priority<br>
+     * Only segments whose listeners changed are generated again, all others are reused and linked again
+     *
+     * @param eventType          The event class to generate the pipeline for
+     * @param pipelineReference The holder of the event pipeline and its segments
+     * @return The head of the pipeline or null if a segment could not be generated
+     */
+    private IEventPipeline buildSegments(final Class<? extends IEvent> eventType, final EventPipelineHolder pipelineReference) {
+        final EnumEventPriority[] priorities = EnumEventPriority.values();
+        final List<ListenerMethod>[] segmentListeners = this.getSegmentListeners(eventType);
+        final IEventPipeline[][] segments = new IEventPipeline[priorities.length][];
+        final boolean reuseSegments = pipelineReference.updateSettings(this.errorListener, this.directInvocation, this.metrics);
+        for (EnumEventPriority priority : priorities) {
+            if (segmentListeners[priority.ordinal()].isEmpty()) continue;
+            //Parallel listener are called after all other listener of the priority
+            final List<ListenerMethod> listeners = new ArrayList<>();
+            final List<ListenerMethod> parallelListeners = new ArrayList<>();
+            for (ListenerMethod listenerMethod : segmentListeners[priority.ordinal()]) {
+                if (listenerMethod.getEventTarget().parallel()) parallelListeners.add(listenerMethod);
+                else listeners.add(listenerMethod);
+            }
+            segmentListeners[priority.ordinal()] = listeners;
+
+            final List<ListenerMethod> oldListeners = reuseSegments ? pipelineReference.getSegmentListeners(priority) : null;
+            final IEventPipeline[] oldChunks = reuseSegments ? pipelineReference.getSegment(priority) : null;
+            final int chunkCount = (listeners.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            final IEventPipeline[] chunks = new IEventPipeline[chunkCount + (parallelListeners.isEmpty() ? 0 : 1)];
+            for (int i = 0; i < chunkCount; i++) {
+                //Chunks whose listener did not change are reused, appending a listener only rebuilds the last chunk
+                final List<ListenerMethod> chunkListeners = listeners.subList(i * CHUNK_SIZE, Math.min(listeners.size(), (i + 1) * CHUNK_SIZE));
+                if (oldListeners != null && i * CHUNK_SIZE < oldListeners.size() && chunkListeners.equals(oldListeners.subList(i * CHUNK_SIZE, Math.min(oldListeners.size(), (i + 1) * CHUNK_SIZE)))) {
+                    chunks[i] = oldChunks[i];
+                } else {
+                    chunks[i] = this.buildPipeline(eventType, priority, i, chunkListeners);
+                    if (chunks[i] == null) return null;
+                }
+            }
+            if (!parallelListeners.isEmpty()) { //The parallel part does not generate a class and is always created again
+                chunks[chunkCount] = this.parallelPipeline(eventType, parallelListeners);
+                if (chunks[chunkCount] == null) return null;
+            }
+            segments[priority.ordinal()] = chunks;
+        }
+
+        //Reused chunks may still be called by running calls, so they are only linked again if their next chunk did not change
+        //Otherwise a copy is linked, so a running call never sees a partially linked pipeline
+        final Map<IEventPipeline, IEventPipeline> oldLinks = new IdentityHashMap<>();
+        IEventPipeline oldNext = null;
+        for (EnumEventPriority priority : priorities) {
+            final IEventPipeline[] chunks = reuseSegments ? pipelineReference.getSegment(priority) : null;
+            if (chunks == null) continue;
+            for (int i = chunks.length - 1; i >= 0; i--) {
+                oldLinks.put(chunks[i], oldNext);
+                oldNext = chunks[i];
+            }
+        }
+
+        //Link the chunks starting with the lowest priority so every segment is complete before it becomes reachable
+        IEventPipeline next = null;
+        try {
+            for (EnumEventPriority priority : priorities) {
+                final IEventPipeline[] chunks = segments[priority.ordinal()];
+                if (chunks == null) continue;
+                for (int i = chunks.length - 1; i >= 0; i--) {
+                    if (!oldLinks.containsKey(chunks[i])) chunks[i].setNext(next);
+                    else if (oldLinks.get(chunks[i]) != next) (chunks[i] = copyPipeline(chunks[i])).setNext(next);
+                    next = chunks[i];
+                }
+            }
+        } catch (Throwable t) {
+            this.errorListener.onException(t);
+            return null;
+        }
+        for (EnumEventPriority priority : priorities) pipelineReference.setSegment(priority, segmentListeners[priority.ordinal()], segments[priority.ordinal()]);
+        return next == null ? EMPTY_PIPELINE : next;
+    }
+
+    /**
+     * Internal method to create a new instance of a generated pipeline with the same listener but without a next pipeline
+     *
+     * @param pipeline The generated pipeline to copy
+     * @return The copy of the pipeline
+     * @throws ReflectiveOperationException If the pipeline could not be instantiated
+     */
+    private static IEventPipeline copyPipeline(final IEventPipeline pipeline) throws ReflectiveOperationException {
+        final IEventPipeline copy = (IEventPipeline) pipeline.getClass().getDeclaredConstructors()[0].newInstance();
+        for (Field field : pipeline.getClass().getDeclaredFields()) {
+            if (!field.getName().equals("next")) field.set(copy, field.get(pipeline));
+        }
+        return copy;
+    }
+
+    /**
+     * Internal method to create an interpreted pipeline which calls all listener through method handles<br>
+     * No class has to be generated for it and it gets replaced by a generated pipeline after {@link #compileThreshold} calls<br>
+     * Parallel listener are called by a {@link ParallelEventPipeline} after all other listener of their priority, like in generated pipelines
+     *
+     * @param eventType The event class to create the pipeline for
+     * @return The new pipeline or null if it could not be created
+     */
+    private IEventPipeline interpretPipeline(final Class<? extends IEvent> eventType) {
+        final List<ListenerMethod>[] segmentListeners = this.getSegmentListeners(eventType);
+        //The parts alternate between sequential and parallel listener, starting and ending with sequential ones
+        final List<List<ListenerMethod>> parts = new ArrayList<>();
+        List<ListenerMethod> listeners = new ArrayList<>();
+        boolean empty = true;
+        for (int i = segmentListeners.length - 1; i >= 0; i--) {
+            final List<ListenerMethod> parallelListeners = new ArrayList<>();
+            for (ListenerMethod listenerMethod : segmentListeners[i]) {
+                if (listenerMethod.getEventTarget().parallel()) parallelListeners.add(listenerMethod);
+                else listeners.add(listenerMethod);
+                empty = false;
+            }
+            if (parallelListeners.isEmpty()) continue;
+            parts.add(listeners);
+            parts.add(parallelListeners);
+            listeners = new ArrayList<>();
+        }
+        parts.add(listeners);
+        if (empty) return EMPTY_PIPELINE;
+
+        //Only the first part counts the calls and requests the compilation as it is the one stored in the holder
+        IEventPipeline next = null;
+        for (int i = parts.size() - 1; i >= 0; i--) {
+            final List<ListenerMethod> part = parts.get(i);
+            if (i != 0 && part.isEmpty()) continue;
+            final IEventPipeline pipeline;
+            if (i % 2 == 1) pipeline = this.parallelPipeline(eventType, part);
+            else pipeline = this.interpretedPipeline(eventType, part, i == 0 ? this.compileThreshold : -1);
+            if (pipeline == null) return null;
+            pipeline.setNext(next);
+            next = pipeline;
+        }
+        return next;
+    }
+
+    /**
+     * Internal method to create a part of an interpreted pipeline
+     *
+     * @param eventType        The event class of the pipeline
+     * @param listeners        The sorted sequential listener of the part
+     * @param compileThreshold The amount of calls after which the pipeline should be compiled or -1 if the part is not the head of the pipeline
+     * @return The new pipeline part or null if it could not be created
+     */
+    private IEventPipeline interpretedPipeline(final Class<? extends IEvent> eventType, final List<ListenerMethod> listeners, final int compileThreshold) {
+        try {
+            return new InterpretedEventPipeline(eventType, listeners, this.createHandles(listeners), this.createMetrics(eventType, listeners), this.errorListener, compileThreshold, compileThreshold < 0 ? null : compiler(new WeakReference<>(this), eventType));
+        } catch (Throwable t) {
+            this.errorListener.onException(t);
+        }
+        return null;
+    }
+
+    /**
+     * Internal method to create the callback which replaces an interpreted pipeline with a generated one<br>
+     * The pipeline is stored in a ClassValue of the event class, so the callback only weakly references the event bus or it could never be collected
+     *
+     * @param eventBus  The weak reference to the event bus of the pipeline
+     * @param eventType The event class of the pipeline
+     * @return The compile callback
+     */
+    private static Consumer<IEventPipeline> compiler(final WeakReference<EventBus> eventBus, final Class<? extends IEvent> eventType) {
+        return pipeline -> {
+            final EventBus bus = eventBus.get();
+            if (bus != null) bus.compilePipeline(eventType, pipeline);
+        };
+    }
+
+    /**
+     * Internal method to create the part of a pipeline segment which calls the parallel listener of a priority
+     *
+     * @param eventType The event class of the pipeline
+     * @param listeners The parallel listener of the priority
+     * @return The new pipeline part or null if it could not be created
+     */
+    private IEventPipeline parallelPipeline(final Class<? extends IEvent> eventType, final List<ListenerMethod> listeners) {
+        try {
+            return new ParallelEventPipeline(eventType, listeners, this.createHandles(listeners), this.createMetrics(eventType, listeners), this.errorListener, this.parallelPool);
+        } catch (Throwable t) {
+            this.errorListener.onException(t);
+        }
+        return null;
+    }
+
+    /**
+     * Internal method to get the method handles of listener methods used by pipelines which do not generate a class
+     *
+     * @param listeners The listener methods
+     * @return The handles of the listener with the type {@code (IEvent)void}
+     */
+    private MethodHandle[] createHandles(final List<ListenerMethod> listeners) {
+        final MethodHandle[] handles = new MethodHandle[listeners.size()];
+        for (int i = 0; i < handles.length; i++) {
+            final ListenerMethod listenerMethod = listeners.get(i);
+            if (listenerMethod.getHandle() == null) listenerMethod.setHandle(this.createHandle(listenerMethod));
+            handles[i] = listenerMethod.getHandle();
+        }
+        return handles;
+    }
+
+    /**
+     * Internal method to get the metrics of listener methods used by pipelines which do not generate a class
+     *
+     * @param eventType The called event class
+     * @param listeners The listener methods
+     * @return The metrics of the listener or null if metrics are disabled
+     */
+    private ListenerMetrics[] createMetrics(final Class<? extends IEvent> eventType, final List<ListenerMethod> listeners) {
+        if (!this.metrics) return null;
+        final ListenerMetrics[] metrics = new ListenerMetrics[listeners.size()];
+        for (int i = 0; i < metrics.length; i++) metrics[i] = this.getMetrics(eventType, listeners.get(i));
+        return metrics;
+    }
+
+    /**
+     * Internal method to create a method handle of the type {@code (IEvent)void} which calls a listener method<br>
+     * All parameters which are not the event get their default value and the guard of the listener is checked before the call<br>
+     * Methods which can not be accessed using reflection and weak listener are called through their wrapper
+     *
+     * @param listenerMethod The listener method
+     * @return The method handle
+     */
+    private MethodHandle createHandle(final ListenerMethod listenerMethod) {
+        final Method method = listenerMethod.getMethod();
+        final Method guardMethod = listenerMethod.getGuard();
+        MethodHandle handle = null;
+        MethodHandle guard = null;
+        if (!listenerMethod.isWeak()) { //A bound handle would keep weak listener alive
+            try {
+                method.setAccessible(true);
+                handle = MethodHandles.lookup().unreflect(method);
+                if (guardMethod != null) {
+                    guardMethod.setAccessible(true);
+                    guard = MethodHandles.lookup().unreflect(guardMethod);
+                }
+            } catch (Throwable t) {
+                handle = null;
+            }
+        }
+        if (handle == null) {
+            if (listenerMethod.getCaller() == null) listenerMethod.setCaller(this.wrap(listenerMethod));
+            return WRAPPER_CALL.bindTo(listenerMethod.getCaller());
+        }
+        if (!listenerMethod.isStatic()) handle = handle.bindTo(listenerMethod.getListener());
+
+        final Class<?>[] parameters = method.getParameterTypes();
+        int eventParameters = 0;
+        for (int i = parameters.length - 1; i >= 0; i--) { //Insert the default values from the back so the indices of the other parameters stay the same
+            if (parameters[i].equals(listenerMethod.getEventType()) || parameters[i].equals(IEvent.class)) eventParameters++;
+            else handle = MethodHandles.insertArguments(handle, i, parameters[i].isPrimitive() ? Array.get(Array.newInstance(parameters[i], 1), 0) : null);
+        }
+        //Cast the event to the parameter types, ignore the return value and pass the event to all remaining parameters
+        handle = handle.asType(MethodType.methodType(void.class, Collections.nCopies(eventParameters, IEvent.class)));
+        handle = MethodHandles.permuteArguments(handle, MethodType.methodType(void.class, IEvent.class), new int[eventParameters]);
+        if (guard == null) return handle;
+
+        if (!Modifier.isStatic(guardMethod.getModifiers())) guard = guard.bindTo(listenerMethod.getListener());
+        if (guardMethod.getParameterCount() == 0) guard = MethodHandles.dropArguments(guard, 0, IEvent.class);
+        else guard = guard.asType(MethodType.methodType(boolean.class, IEvent.class));
+        return MethodHandles.guardWithTest(guard, handle, SKIP_CALL);
+    }
+
+    /**
+     * Internal method to generate one chunk of a priority segment of the event pipeline of a concrete event class<br>
+     * The chunk calls the next chunk or segment after its own listener unless a stoppable event was stopped
+     *
+     * @param eventType  The event class to generate the pipeline for
+     * @param priority   The priority of all listener in the segment
+     * @param chunk      The index of the chunk in the segment
+     * @param allMethods The listener of the chunk
+     * @return The new chunk or null if it could not be generated
+     */
+    private IEventPipeline buildPipeline(final Class<? extends IEvent> eventType, final EnumEventPriority priority, final int chunk, final List<ListenerMethod> allMethods) {
+        final PipelineSafety pipelineSafety = eventType.getDeclaredAnnotation(PipelineSafety.class);
+        final boolean needsListener;
+        final boolean metrics = this.metrics;
+        //Find a class loader which can see the event and all listener classes
+        //If there is none the pipeline is defined next to the EventBus and only visible listener get called directly
+        final Class<?> pipelineHost = this.directInvocation ? this.findPipelineHost(eventType, allMethods) : EventBus.class;
+        final ClassLoader pipelineLoader = pipelineHost.getClassLoader();
+        final boolean castEvent = this.directInvocation && canCallDirectly(pipelineLoader, eventType);
+        final boolean[] directCalls = new boolean[allMethods.size()];
+        for (int i = 0; i < allMethods.size(); i++) {
+            final ListenerMethod listenerMethod = allMethods.get(i);
+            //Weak listener are always called through their wrapper so the pipeline does not keep them alive
+            directCalls[i] = castEvent && !listenerMethod.isWeak() && canCallDirectly(pipelineLoader, listenerMethod.getMethod()) && (listenerMethod.getGuard() == null || canCallDirectly(pipelineLoader, listenerMethod.getGuard()));
+            if (!directCalls[i] && listenerMethod.getCaller() == null) listenerMethod.setCaller(this.wrap(listenerMethod));
+        }
+
+        ClassNode pipelineNode = new ClassNode();
+        pipelineNode.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, ClassDefiner.getClassName(pipelineHost, eventType.getSimpleName() + "Pipeline" + priority.name() + chunk), null, "java/lang/Object", new String[]{IEventPipeline.class.getName().replace(".", "/")});
+        pipelineNode.sourceFile = eventType.getName() + " Pipeline (" + priority.name() + " #" + chunk + ")"; //This shows when an exception is printed. Some nice to have debug details
+        pipelineNode.sourceDebug = "ASMEvents by Lenni0451"; //Some credits for me :)
+        ASMUtils.addDefaultConstructor(pipelineNode);
+        pipelineNode.visitField(Opcodes.ACC_PUBLIC | Opcodes.ACC_VOLATILE, "next", Type.getDescriptor(IEventPipeline.class), null, null);
+
+        if (pipelineSafety != null && pipelineSafety.value().equals(EnumPipelineSafety.ERROR_LISTENER)) { //Add the errorListener field if needed
+            needsListener = true;
+            pipelineNode.visitField(Opcodes.ACC_PUBLIC, "errorListener", Type.getDescriptor(IErrorListener.class), null, null);
+        } else needsListener = false;
+        for (int i = 0; i < allMethods.size(); i++) {
+            if (!directCalls[i]) pipelineNode.visitField(Opcodes.ACC_PUBLIC, "listener" + i, Type.getDescriptor(IWrappedCaller.class), null, null);
+            else if (!allMethods.get(i).isStatic()) pipelineNode.visitField(Opcodes.ACC_PUBLIC, "listener" + i, Type.getDescriptor(allMethods.get(i).getListenerClass()), null, null);
+            if (metrics) pipelineNode.visitField(Opcodes.ACC_PUBLIC, "metrics" + i, Type.getDescriptor(ListenerMetrics.class), null, null);
+            if (hasKeySet(eventType, allMethods.get(i))) pipelineNode.visitField(Opcodes.ACC_PUBLIC, "keys" + i, "[I", null, null);
+        }
+        { //Insert call method and all listener calls
+            final String callName = ReflectUtils.getMethodByArgs(IEventPipeline.class, IEvent.class).getName();
+            final String callDescriptor = "(" + Type.getDescriptor(IEvent.class) + ")V";
+            boolean typed = false;
+            if (ITypedEvent.class.isAssignableFrom(eventType)) {
+                for (ListenerMethod listenerMethod : allMethods) typed |= !EnumEventType.ALL.equals(listenerMethod.getEventTarget().type());
+            }
+            if (typed) { //Get the type only once and jump to the entry point which only contains the listener of the type
+                MethodVisitor visitor = pipelineNode.visitMethod(Opcodes.ACC_PUBLIC, callName, callDescriptor, null, new String[]{"java/lang/Throwable"});
+                visitor.visitVarInsn(Opcodes.ALOAD, 1);
+                visitor.visitTypeInsn(Opcodes.CHECKCAST, ITypedEvent.class.getName().replace(".", "/"));
+                visitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, ITypedEvent.class.getName().replace(".", "/"), ReflectUtils.getMethodByArgs(ITypedEvent.class).getName(), "()" + Type.getDescriptor(EnumEventType.class), true);
+                visitor.visitVarInsn(Opcodes.ASTORE, 2);
+                for (EnumEventType type : EnumEventType.values()) {
+                    if (EnumEventType.ALL.equals(type)) continue;
+                    final Label otherType = new Label();
+                    visitor.visitVarInsn(Opcodes.ALOAD, 2);
+                    visitor.visitFieldInsn(Opcodes.GETSTATIC, EnumEventType.class.getName().replace(".", "/"), ReflectUtils.getEnumField(type).getName(), Type.getDescriptor(EnumEventType.class));
+                    visitor.visitJumpInsn(Opcodes.IF_ACMPNE, otherType);
+                    visitor.visitVarInsn(Opcodes.ALOAD, 0);
+                    visitor.visitVarInsn(Opcodes.ALOAD, 1);
+                    visitor.visitMethodInsn(Opcodes.INVOKESPECIAL, pipelineNode.name, callName + type.name(), callDescriptor, false);
+                    visitor.visitInsn(Opcodes.RETURN);
+                    visitor.visitLabel(otherType);
+                }
+                //Events with the type ALL (or any other type) only get passed to listener of all types
+                visitor.visitVarInsn(Opcodes.ALOAD, 0);
+                visitor.visitVarInsn(Opcodes.ALOAD, 1);
+                visitor.visitMethodInsn(Opcodes.INVOKESPECIAL, pipelineNode.name, callName + EnumEventType.ALL.name(), callDescriptor, false);
+                visitor.visitInsn(Opcodes.RETURN);
+                visitor.visitEnd();
+
+                for (EnumEventType type : EnumEventType.values()) {
+                    visitor = pipelineNode.visitMethod(Opcodes.ACC_PRIVATE, callName + type.name(), callDescriptor, null, new String[]{"java/lang/Throwable"});
+                    visitCallMethod(visitor, pipelineNode.name, eventType, pipelineSafety, metrics, castEvent, allMethods, directCalls, type);
+                }
+            } else {
+                MethodVisitor visitor = pipelineNode.visitMethod(Opcodes.ACC_PUBLIC, callName, callDescriptor, null, new String[]{"java/lang/Throwable"});
+                visitCallMethod(visitor, pipelineNode.name, eventType, pipelineSafety, metrics, castEvent, allMethods, directCalls, null);
+            }
+        }
+        { //Insert setNext method
+            MethodVisitor visitor = pipelineNode.visitMethod(Opcodes.ACC_PUBLIC, ReflectUtils.getMethodByArgs(IEventPipeline.class, IEventPipeline.class).getName(), "(" + Type.getDescriptor(IEventPipeline.class) + ")V", null, null);
+            visitor.visitVarInsn(Opcodes.ALOAD, 0);
+            visitor.visitVarInsn(Opcodes.ALOAD, 1);
+            visitor.visitFieldInsn(Opcodes.PUTFIELD, pipelineNode.name, "next", Type.getDescriptor(IEventPipeline.class));
+            visitor.visitInsn(Opcodes.RETURN);
+            visitor.visitEnd();
+        }
+        { //Insert setFields method
+            MethodVisitor visitor = pipelineNode.visitMethod(Opcodes.ACC_PUBLIC, ReflectUtils.getMethodByArgs(IEventPipeline.class, IErrorListener.class, List.class).getName(), "(" + Type.getDescriptor(IErrorListener.class) + Type.getDescriptor(List.class) + ")V", null, null);
+            if (needsListener) {
+                visitor.visitVarInsn(Opcodes.ALOAD, 0);
+                visitor.visitVarInsn(Opcodes.ALOAD, 1);
+                visitor.visitFieldInsn(Opcodes.PUTFIELD, pipelineNode.name, "errorListener", Type.getDescriptor(IErrorListener.class));
+            }
+            for (int i = 0; i < allMethods.size(); i++) {
+                if (directCalls[i] && allMethods.get(i).isStatic()) continue;
+                final Class<?> fieldType = directCalls[i] ? allMethods.get(i).getListenerClass() : IWrappedCaller.class;
+
+                visitor.visitVarInsn(Opcodes.ALOAD, 0);
+                visitor.visitVarInsn(Opcodes.ALOAD, 2);
+                ASMUtils.pushInt(visitor, i);
+                visitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, List.class.getName().replace(".", "/"), "get", "(I)Ljava/lang/Object;", true);
+                visitor.visitTypeInsn(Opcodes.CHECKCAST, fieldType.getName().replace(".", "/"));
+                visitor.visitFieldInsn(Opcodes.PUTFIELD, pipelineNode.name, "listener" + i, Type.getDescriptor(fieldType));
+            }
+            for (int i = 0; metrics && i < allMethods.size(); i++) { //The metrics are passed after all listener
+                visitor.visitVarInsn(Opcodes.ALOAD, 0);
+                visitor.visitVarInsn(Opcodes.ALOAD, 2);
+                ASMUtils.pushInt(visitor, allMethods.size() + i);
+                visitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, List.class.getName().replace(".", "/"), "get", "(I)Ljava/lang/Object;", true);
+                visitor.visitTypeInsn(Opcodes.CHECKCAST, ListenerMetrics.class.getName().replace(".", "/"));
+                visitor.visitFieldInsn(Opcodes.PUTFIELD, pipelineNode.name, "metrics" + i, Type.getDescriptor(ListenerMetrics.class));
+            }
+            for (int i = 0; i < allMethods.size(); i++) { //The key sets are passed after all listener and metrics
+                if (!hasKeySet(eventType, allMethods.get(i))) continue;
+                visitor.visitVarInsn(Opcodes.ALOAD, 0);
+                visitor.visitVarInsn(Opcodes.ALOAD, 2);
+                ASMUtils.pushInt(visitor, allMethods.size() * (metrics ? 2 : 1) + i);
+                visitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, List.class.getName().replace(".", "/"), "get", "(I)Ljava/lang/Object;", true);
+                visitor.visitTypeInsn(Opcodes.CHECKCAST, "[I");
+                visitor.visitFieldInsn(Opcodes.PUTFIELD, pipelineNode.name, "keys" + i, "[I");
+            }
+            visitor.visitInsn(Opcodes.RETURN);
+            visitor.visitEnd();
+        }
+        { //Insert callAll method which loops over all events and calls the call method for each of them
+            final Method callAllMethod = ReflectUtils.getMethodByArgs(IEventPipeline.class, IEvent[].class, IErrorListener.class);
+            final Method onExceptionMethod = ReflectUtils.getMethodByArgs(IErrorListener.class, Throwable.class);
+            MethodVisitor visitor = pipelineNode.visitMethod(Opcodes.ACC_PUBLIC, callAllMethod.getName(), Type.getMethodDescriptor(callAllMethod), null, null);
+            final Label loopStart = new Label();
+            final Label loopEnd = new Label();
+            final Label tryStart = new Label();
+            final Label tryEnd = new Label();
+            final Label catchBlock = new Label();
+            final Label next = new Label();
+
+            visitor.visitTryCatchBlock(tryStart, tryEnd, catchBlock, "java/lang/Throwable");
+            visitor.visitInsn(Opcodes.ICONST_0);
+            visitor.visitVarInsn(Opcodes.ISTORE, 3);
+            visitor.visitLabel(loopStart);
+            visitor.visitVarInsn(Opcodes.ILOAD, 3);
+            visitor.visitVarInsn(Opcodes.ALOAD, 1);
+            visitor.visitInsn(Opcodes.ARRAYLENGTH);
+            visitor.visitJumpInsn(Opcodes.IF_ICMPGE, loopEnd);
+            visitor.visitLabel(tryStart);
+            visitor.visitVarInsn(Opcodes.ALOAD, 0);
+            visitor.visitVarInsn(Opcodes.ALOAD, 1);
+            visitor.visitVarInsn(Opcodes.ILOAD, 3);
+            visitor.visitInsn(Opcodes.AALOAD);
+            visitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, pipelineNode.name, ReflectUtils.getMethodByArgs(IEventPipeline.class, IEvent.class).getName(), "(" + Type.getDescriptor(IEvent.class) + ")V", false);
+            visitor.visitLabel(tryEnd);
+            visitor.visitJumpInsn(Opcodes.GOTO, next);
+            visitor.visitLabel(catchBlock); //Pass the exception to the error listener and continue with the next event like a normal call would
+            visitor.visitVarInsn(Opcodes.ASTORE, 4);
+            visitor.visitVarInsn(Opcodes.ALOAD, 2);
+            visitor.visitVarInsn(Opcodes.ALOAD, 4);
+            visitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, IErrorListener.class.getName().replace(".", "/"), onExceptionMethod.getName(), Type.getMethodDescriptor(onExceptionMethod), true);
+            visitor.visitLabel(next);
+            visitor.visitIincInsn(3, 1);
+            visitor.visitJumpInsn(Opcodes.GOTO, loopStart);
+            visitor.visitLabel(loopEnd);
+            visitor.visitInsn(Opcodes.RETURN);
+            visitor.visitEnd();
+        }
+
+        try {
+            //Load the pipeline class
+            final List<Class<?>> dependencies = new ArrayList<>();
+            dependencies.add(eventType);
+            for (ListenerMethod listenerMethod : allMethods) {
+                dependencies.add(listenerMethod.getListenerClass());
+                dependencies.add(listenerMethod.getEventType());
+            }
+            Class<? extends IEventPipeline> pipelineClass = this.defineClass(pipelineHost, pipelineNode, dependencies.toArray(new Class<?>[0]));
+
+            //Create an instance of the loaded pipeline class
+            IEventPipeline pipeline = (IEventPipeline) pipelineClass.getDeclaredConstructors()[0].newInstance();
+            //Set all caller/listener fields and if needed the error listener
+            List<Object> allCaller = new ArrayList<>();
+            for (int i = 0; i < allMethods.size(); i++) allCaller.add(directCalls[i] ? allMethods.get(i).getListener() : allMethods.get(i).getCaller());
+            if (metrics) for (ListenerMethod listenerMethod : allMethods) allCaller.add(this.getMetrics(eventType, listenerMethod));
+            if (IKeyedEvent.class.isAssignableFrom(eventType)) for (ListenerMethod listenerMethod : allMethods) allCaller.add(listenerMethod.getKeys());
+            pipeline.setFields(this.errorListener, allCaller);
+            return pipeline;
+        } catch (Throwable t) {
+            this.errorListener.onException(t);
+        }
+        return null;
+    }
+
+    /**
+     * Internal method to get the single method of a payload event
+     *
+     * @param eventType The interface of the payload event
+     * @return The payload method
+     * @throws IllegalArgumentException If the event is not an interface with a single void method
+     */
+    private static Method getPayloadMethod(final Class<?> eventType) {
+        if (!eventType.isInterface()) throw new IllegalArgumentException("Payload event " + eventType.getName() + " has to be an interface");
+        Method payloadMethod = null;
+        for (Method method : eventType.getMethods()) {
+            if (!Modifier.isAbstract(method.getModifiers())) continue;
+            if (payloadMethod != null) throw new IllegalArgumentException("Payload event " + eventType.getName() + " has more than one method");
+            payloadMethod = method;
+        }
+        if (payloadMethod == null || !void.class.equals(payloadMethod.getReturnType())) throw new IllegalArgumentException("Payload event " + eventType.getName() + " has to declare a single void method");
+        return payloadMethod;
+    }
+
+    /**
+     * Internal method to check if a listener method can be called with the payload of a payload event
+     *
+     * @param eventType The interface of the payload event
+     * @param method    The listener method
+     * @throws IllegalArgumentException If the parameters do not match or the listener uses a guard or keys
+     */
+    private static void checkPayloadListener(final Class<? extends IEvent> eventType, final Method method) {
+        final Method payloadMethod = getPayloadMethod(eventType);
+        if (!Arrays.equals(payloadMethod.getParameterTypes(), method.getParameterTypes())) {
+            throw new IllegalArgumentException("Listener " + method.getDeclaringClass().getName() + "#" + method.getName() + " has to take the parameters of " + eventType.getName() + "#" + payloadMethod.getName());
+        }
+        final EventTarget eventTarget = method.getDeclaredAnnotation(EventTarget.class);
+        if (!eventTarget.guard().isEmpty() || eventTarget.keys().length != 0 || eventTarget.parallel()) {
+            throw new IllegalArgumentException("Listener " + method.getDeclaringClass().getName() + "#" + method.getName() + " of payload event " + eventType.getName() + " can not use guards, keys or parallel calls");
+        }
+    }
+
+    /**
+     * Internal method to create the invoker of a payload event if no other thread has already done so
+     *
+     * @param eventType The interface of the payload event
+     * @return The invoker
+     */
+    private IPayloadInvoker createPayloadInvoker(final Class<? extends IPayloadEvent> eventType) {
+        final AtomicReference<IPayloadInvoker> invokerReference = this.payloadInvokers.get(eventType);
+        synchronized (invokerReference) {
+            if (invokerReference.get() != null) return invokerReference.get();
+            final Method payloadMethod = getPayloadMethod(eventType);
+
+            ClassNode invokerNode = new ClassNode();
+            invokerNode.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, ClassDefiner.getClassName(eventType, eventType.getSimpleName() + "Invoker"), null, "java/lang/Object", new String[]{eventType.getName().replace(".", "/"), IPayloadInvoker.class.getName().replace(".", "/")});
+            invokerNode.sourceFile = eventType.getName() + " Invoker";
+            invokerNode.sourceDebug = "ASMEvents by Lenni0451";
+            ASMUtils.addDefaultConstructor(invokerNode);
+            //The invoker is stored in a ClassValue of the event class, so the event bus is only weakly referenced or it could never be collected
+            invokerNode.visitField(Opcodes.ACC_PUBLIC, "eventBus", Type.getDescriptor(WeakReference.class), null, null);
+            invokerNode.visitField(Opcodes.ACC_PUBLIC | Opcodes.ACC_VOLATILE, "pipeline", Type.getDescriptor(eventType), null, null);
+            { //Insert the payload method which calls the current pipeline and passes exceptions to the error listener like a normal call
+                MethodVisitor visitor = invokerNode.visitMethod(Opcodes.ACC_PUBLIC, payloadMethod.getName(), Type.getMethodDescriptor(payloadMethod), null, null);
+                final Label tryStart = new Label();
+                final Label tryEnd = new Label();
+                final Label catchBlock = new Label();
+                visitor.visitTryCatchBlock(tryStart, tryEnd, catchBlock, "java/lang/Throwable");
+                visitor.visitLabel(tryStart);
+                visitor.visitVarInsn(Opcodes.ALOAD, 0);
+                visitor.visitFieldInsn(Opcodes.GETFIELD, invokerNode.name, "pipeline", Type.getDescriptor(eventType));
+                visitPayloadArguments(visitor, payloadMethod);
+                visitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, eventType.getName().replace(".", "/"), payloadMethod.getName(), Type.getMethodDescriptor(payloadMethod), true);
+                visitor.visitLabel(tryEnd);
+                visitor.visitInsn(Opcodes.RETURN);
+                visitor.visitLabel(catchBlock);
+                final Label busAlive = new Label();
+                visitor.visitVarInsn(Opcodes.ALOAD, 0);
+                visitor.visitFieldInsn(Opcodes.GETFIELD, invokerNode.name, "eventBus", Type.getDescriptor(WeakReference.class));
+                visitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/ref/Reference", "get", "()Ljava/lang/Object;", false);
+                visitor.visitTypeInsn(Opcodes.CHECKCAST, EventBus.class.getName().replace(".", "/"));
+                visitor.visitInsn(Opcodes.DUP);
+                visitor.visitJumpInsn(Opcodes.IFNONNULL, busAlive);
+                visitor.visitInsn(Opcodes.POP); //Rethrow the exception if the event bus has been collected
+                visitor.visitInsn(Opcodes.ATHROW);
+                visitor.visitLabel(busAlive);
+                visitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, EventBus.class.getName().replace(".", "/"), "getErrorListener", "()" + Type.getDescriptor(IErrorListener.class), false);
+                visitor.visitInsn(Opcodes.SWAP);
+                final Method onExceptionMethod = ReflectUtils.getMethodByArgs(IErrorListener.class, Throwable.class);
+                visitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, IErrorListener.class.getName().replace(".", "/"), onExceptionMethod.getName(), Type.getMethodDescriptor(onExceptionMethod), true);
+                visitor.visitInsn(Opcodes.RETURN);
+                visitor.visitEnd();
+            }
+            { //Insert setFields method which sets the event bus and the current pipeline
+                MethodVisitor visitor = invokerNode.visitMethod(Opcodes.ACC_PUBLIC, ReflectUtils.getMethodByArgs(IPayloadInvoker.class, IErrorListener.class, List.class).getName(), "(" + Type.getDescriptor(IErrorListener.class) + Type.getDescriptor(List.class) + ")V", null, null);
+                visitor.visitVarInsn(Opcodes.ALOAD, 0);
+                visitor.visitVarInsn(Opcodes.ALOAD, 2);
+                visitor.visitInsn(Opcodes.ICONST_0);
+                visitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, List.class.getName().replace(".", "/"), "get", "(I)Ljava/lang/Object;", true);
+                visitor.visitTypeInsn(Opcodes.CHECKCAST, WeakReference.class.getName().replace(".", "/"));
+                visitor.visitFieldInsn(Opcodes.PUTFIELD, invokerNode.name, "eventBus", Type.getDescriptor(WeakReference.class));
+                visitor.visitVarInsn(Opcodes.ALOAD, 0);
+                visitor.visitVarInsn(Opcodes.ALOAD, 2);
+                visitor.visitInsn(Opcodes.ICONST_1);
+                visitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, List.class.getName().replace(".", "/"), "get", "(I)Ljava/lang/Object;", true);
+                visitor.visitTypeInsn(Opcodes.CHECKCAST, eventType.getName().replace(".", "/"));
+                visitor.visitFieldInsn(Opcodes.PUTFIELD, invokerNode.name, "pipeline", Type.getDescriptor(eventType));
+                visitor.visitInsn(Opcodes.RETURN);
+                visitor.visitEnd();
+            }
+
+            final IPayloadInvoker pipeline = this.buildPayloadPipeline(eventType, payloadMethod);
+            if (pipeline == null) throw new IllegalStateException("Unable to generate the pipeline of payload event " + eventType.getName());
+            try {
+                final Class<? extends IPayloadInvoker> invokerClass = this.defineClass(eventType, invokerNode, eventType);
+                final IPayloadInvoker invoker = invokerClass.getDeclaredConstructor().newInstance();
+                invoker.setFields(this.errorListener, Arrays.asList(new WeakReference<>(this), pipeline));
+                invokerReference.set(invoker);
+                return invoker;
+            } catch (Throwable t) {
+                throw new IllegalStateException("Unable to generate the invoker of payload event " + eventType.getName(), t);
+            }
+        }
+    }
+
+    /**
+     * Internal method to regenerate the pipeline of a payload event after its listeners changed<br>
+     * Nothing happens if no invoker has been created for the event yet
+     *
+     * @param eventType The interface of the payload event
+     */
+    private void updatePayloadInvoker(final Class<? extends IEvent> eventType) {
+        final AtomicReference<IPayloadInvoker> invokerReference = this.payloadInvokers.get(eventType);
+        synchronized (invokerReference) {
+            final IPayloadInvoker invoker = invokerReference.get();
+            if (invoker == null) return;
+            final IPayloadInvoker pipeline = this.buildPayloadPipeline(eventType, getPayloadMethod(eventType));
+            if (pipeline != null) invoker.setFields(this.errorListener, Arrays.asList(new WeakReference<>(this), pipeline));
+        }
+    }
+
+    /**
+     * Internal method to generate the pipeline of a payload event<br>
+     * Like normal pipelines it is split into chained chunks of {@link #CHUNK_SIZE} listener
+     *
+     * @param eventType     The interface of the payload event
+     * @param payloadMethod The method of the payload event
+     * @return The head of the new pipeline or null if it could not be generated
+     */
+    private IPayloadInvoker buildPayloadPipeline(final Class<? extends IEvent> eventType, final Method payloadMethod) {
+        final List<ListenerMethod> listeners = this.getListeners(eventType);
+        //Payload events are only called through their invoker, so only the listener of the exact event are called
+        listeners.removeIf(listenerMethod -> !eventType.equals(listenerMethod.getEventType()));
+
+        //The chunks are generated starting with the last one as every chunk references the next one
+        IPayloadInvoker next = null;
+        for (int chunk = (listeners.size() - 1) / CHUNK_SIZE; chunk >= 0; chunk--) {
+            next = this.buildPayloadChunk(eventType, payloadMethod, chunk, listeners.subList(chunk * CHUNK_SIZE, Math.min(listeners.size(), (chunk + 1) * CHUNK_SIZE)), next);
+            if (next == null) return null;
+        }
+        return next;
+    }
+
+    /**
+     * Internal method to generate one chunk of the pipeline of a payload event<br>
+     * The chunk implements the payload event and passes the arguments of the payload method to all listener without boxing<br>
+     * Listener which can not be called directly are called through a method handle with the exact type of the payload method
+     *
+     * @param eventType     The interface of the payload event
+     * @param payloadMethod The method of the payload event
+     * @param chunk         The index of the chunk
+     * @param allMethods    The listener of the chunk
+     * @param next          The next chunk or null if this is the last one
+     * @return The new chunk or null if it could not be generated
+     */
+    private IPayloadInvoker buildPayloadChunk(final Class<? extends IEvent> eventType, final Method payloadMethod, final int chunk, final List<ListenerMethod> allMethods, final IPayloadInvoker next) {
+        final PipelineSafety pipelineSafety = eventType.getDeclaredAnnotation(PipelineSafety.class);
+        //The pipeline implements the event interface which can only be done from its package if it is not public
+        final Class<?> pipelineHost = Modifier.isPublic(eventType.getModifiers()) ? this.findPipelineHost(eventType, allMethods) : eventType;
+        final ClassLoader pipelineLoader = pipelineHost.getClassLoader();
+        final String payloadDescriptor = Type.getMethodDescriptor(payloadMethod);
+        final String receiverDescriptor = "(Ljava/lang/Object;" + payloadDescriptor.substring(1);
+        int tempLocal = 1;
+        for (Type argument : Type.getArgumentTypes(payloadMethod)) tempLocal += argument.getSize();
+
+        ClassNode pipelineNode = new ClassNode();
+        pipelineNode.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, ClassDefiner.getClassName(pipelineHost, eventType.getSimpleName() + "PayloadPipeline" + chunk), null, "java/lang/Object", new String[]{eventType.getName().replace(".", "/"), IPayloadInvoker.class.getName().replace(".", "/")});
+        pipelineNode.sourceFile = eventType.getName() + " Payload Pipeline (#" + chunk + ")";
+        pipelineNode.sourceDebug = "ASMEvents by Lenni0451";
+        ASMUtils.addDefaultConstructor(pipelineNode);
+        if (pipelineSafety != null && pipelineSafety.value().equals(EnumPipelineSafety.ERROR_LISTENER)) {
+            pipelineNode.visitField(Opcodes.ACC_PUBLIC, "errorListener", Type.getDescriptor(IErrorListener.class), null, null);
+        }
+
+        //Every listener gets the fields it needs, the values are passed to setFields in the same order
+        final List<String> fieldNames = new ArrayList<>();
+        final List<Class<?>> fieldTypes = new ArrayList<>();
+        final List<Object> fieldValues = new ArrayList<>();
+        MethodVisitor visitor = pipelineNode.visitMethod(Opcodes.ACC_PUBLIC, payloadMethod.getName(), payloadDescriptor, null, null);
+        try {
+            for (int i = 0; i < allMethods.size(); i++) {
+                final ListenerMethod listenerMethod = allMethods.get(i);
+                final Method method = listenerMethod.getMethod();
+                final boolean directCall = this.directInvocation && !listenerMethod.isWeak() && canCallDirectly(pipelineLoader, method);
+                final Label skip = new Label();
+                Label endBlock = null;
+                Label catchBlock = null;
+                if (pipelineSafety != null) {
+                    final Label tryBlock = new Label();
+                    endBlock = new Label();
+                    catchBlock = new Label();
+
+                    visitor.visitTryCatchBlock(tryBlock, endBlock, catchBlock, "java/lang/Throwable");
+                    visitor.visitLabel(tryBlock);
+                }
+
+                if (listenerMethod.isWeak()) { //Get the listener from its weak reference and skip it if it has been collected
+                    fieldNames.add("reference" + i);
+                    fieldTypes.add(WeakReference.class);
+                    fieldValues.add(listenerMethod.getReference());
+                    visitor.visitVarInsn(Opcodes.ALOAD, 0);
+                    visitor.visitFieldInsn(Opcodes.GETFIELD, pipelineNode.name, "reference" + i, Type.getDescriptor(WeakReference.class));
+                    visitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/ref/Reference", "get", "()Ljava/lang/Object;", false);
+                    visitor.visitInsn(Opcodes.DUP);
+                    visitor.visitVarInsn(Opcodes.ASTORE, tempLocal);
+                    visitor.visitJumpInsn(Opcodes.IFNULL, skip);
+                }
+                if (directCall) {
+                    final String owner = listenerMethod.getListenerClass().getName().replace(".", "/");
+                    if (listenerMethod.isWeak()) {
+                        visitor.visitVarInsn(Opcodes.ALOAD, tempLocal);
+                        visitor.visitTypeInsn(Opcodes.CHECKCAST, owner);
+                    } else if (!listenerMethod.isStatic()) {
+                        fieldNames.add("listener" + i);
+                        fieldTypes.add(listenerMethod.getListenerClass());
+                        fieldValues.add(listenerMethod.getListener());
+                        visitor.visitVarInsn(Opcodes.ALOAD, 0);
+                        visitor.visitFieldInsn(Opcodes.GETFIELD, pipelineNode.name, "listener" + i, Type.getDescriptor(listenerMethod.getListenerClass()));
+                    }
+                    visitPayloadArguments(visitor, payloadMethod);
+                    if (listenerMethod.isStatic()) visitor.visitMethodInsn(Opcodes.INVOKESTATIC, owner, method.getName(), Type.getMethodDescriptor(method), false);
+                    else if (listenerMethod.getListenerClass().isInterface()) visitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, owner, method.getName(), Type.getMethodDescriptor(method), true);
+                    else visitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, owner, method.getName(), Type.getMethodDescriptor(method), false);
+                    if (!Type.getReturnType(method).equals(Type.VOID_TYPE)) visitor.visitInsn(Type.getReturnType(method).getSize() == 2 ? Opcodes.POP2 : Opcodes.POP);
+                } else {
+                    //Weak listener are passed to the handle, strong listener are bound to it
+                    method.setAccessible(true);
+                    MethodHandle handle = MethodHandles.lookup().unreflect(method);
+                    if (!listenerMethod.isStatic() && !listenerMethod.isWeak()) handle = handle.bindTo(listenerMethod.getListener());
+                    handle = handle.asType(MethodType.fromMethodDescriptorString(listenerMethod.isWeak() ? receiverDescriptor : payloadDescriptor, null));
+                    fieldNames.add("handle" + i);
+                    fieldTypes.add(MethodHandle.class);
+                    fieldValues.add(handle);
+                    visitor.visitVarInsn(Opcodes.ALOAD, 0);
+                    visitor.visitFieldInsn(Opcodes.GETFIELD, pipelineNode.name, "handle" + i, Type.getDescriptor(MethodHandle.class));
+                    if (listenerMethod.isWeak()) visitor.visitVarInsn(Opcodes.ALOAD, tempLocal);
+                    visitPayloadArguments(visitor, payloadMethod);
+                    visitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/invoke/MethodHandle", "invokeExact", listenerMethod.isWeak() ? receiverDescriptor : payloadDescriptor, false);
+                }
+
+                if (pipelineSafety != null) {
+                    visitor.visitLabel(endBlock);
+                    visitor.visitJumpInsn(Opcodes.GOTO, skip);
+                    visitor.visitLabel(catchBlock);
+                    visitExceptionHandler(visitor, pipelineNode.name, pipelineSafety);
+                }
+                visitor.visitLabel(skip);
+            }
+            if (next != null) { //Pass the payload to the next chunk
+                fieldNames.add("next");
+                fieldTypes.add(eventType);
+                fieldValues.add(next);
+                visitor.visitVarInsn(Opcodes.ALOAD, 0);
+                visitor.visitFieldInsn(Opcodes.GETFIELD, pipelineNode.name, "next", Type.getDescriptor(eventType));
+                visitPayloadArguments(visitor, payloadMethod);
+                visitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, eventType.getName().replace(".", "/"), payloadMethod.getName(), payloadDescriptor, true);
+            }
+            visitor.visitInsn(Opcodes.RETURN);
+            visitor.visitEnd();
+
+            for (int i = 0; i < fieldNames.size(); i++) pipelineNode.visitField(Opcodes.ACC_PUBLIC, fieldNames.get(i), Type.getDescriptor(fieldTypes.get(i)), null, null);
+            { //Insert setFields method
+                visitor = pipelineNode.visitMethod(Opcodes.ACC_PUBLIC, ReflectUtils.getMethodByArgs(IPayloadInvoker.class, IErrorListener.class, List.class).getName(), "(" + Type.getDescriptor(IErrorListener.class) + Type.getDescriptor(List.class) + ")V", null, null);
+                if (pipelineSafety != null && pipelineSafety.value().equals(EnumPipelineSafety.ERROR_LISTENER)) {
+                    visitor.visitVarInsn(Opcodes.ALOAD, 0);
+                    visitor.visitVarInsn(Opcodes.ALOAD, 1);
+                    visitor.visitFieldInsn(Opcodes.PUTFIELD, pipelineNode.name, "errorListener", Type.getDescriptor(IErrorListener.class));
+                }
+                for (int i = 0; i < fieldNames.size(); i++) {
+                    visitor.visitVarInsn(Opcodes.ALOAD, 0);
+                    visitor.visitVarInsn(Opcodes.ALOAD, 2);
+                    ASMUtils.pushInt(visitor, i);
+                    visitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, List.class.getName().replace(".", "/"), "get", "(I)Ljava/lang/Object;", true);
+                    visitor.visitTypeInsn(Opcodes.CHECKCAST, fieldTypes.get(i).getName().replace(".", "/"));
+                    visitor.visitFieldInsn(Opcodes.PUTFIELD, pipelineNode.name, fieldNames.get(i), Type.getDescriptor(fieldTypes.get(i)));
+                }
+                visitor.visitInsn(Opcodes.RETURN);
+                visitor.visitEnd();
+            }
+
+            final List<Class<?>> dependencies = new ArrayList<>();
+            dependencies.add(eventType);
+            for (ListenerMethod listenerMethod : allMethods) dependencies.add(listenerMethod.getListenerClass());
+            final Class<? extends IPayloadInvoker> pipelineClass = this.defineClass(pipelineHost, pipelineNode, dependencies.toArray(new Class<?>[0]));
+            final IPayloadInvoker pipeline = pipelineClass.getDeclaredConstructor().newInstance();
+            pipeline.setFields(this.errorListener, fieldValues);
+            return pipeline;
+        } catch (Throwable t) {
+            this.errorListener.onException(t);
+        }
+        return null;
+    }
+
+    /**
+     * Generate the code which loads all arguments of the payload method onto the stack
+     *
+     * @param visitor       The visitor of the method
+     * @param payloadMethod The payload method
+     */
+    private static void visitPayloadArguments(final MethodVisitor visitor, final Method payloadMethod) {
+        int local = 1;
+        for (Type argument : Type.getArgumentTypes(payloadMethod)) {
+            visitor.visitVarInsn(argument.getOpcode(Opcodes.ILOAD), local);
+            local += argument.getSize();
+        }
+    }
+
+    /**
+     * Generate the body of a call method which calls all listener of the pipeline for one event type and then the next pipeline<br>
+     * The cancelled state is cached in local 8 (-1 if unknown) and only read again after a listener was called which could have changed it
+     *
+     * @param visitor        The visitor of the call method
+     * @param pipelineName   The internal name of the pipeline class
+     * @param eventType      The event class of the pipeline
+     * @param pipelineSafety The pipeline safety of the event class or null if there is none
+     * @param metrics        If the calls should record metrics
+     * @param castEvent      If the event is cast to its real type for directly called listener
+     * @param allMethods     All listener of the pipeline
+     * @param directCalls    Which listener are called directly
+     * @param type           The type of the event the method is called for or null if the listener types are not checked
+     */
+    private static void visitCallMethod(final MethodVisitor visitor, final String pipelineName, final Class<? extends IEvent> eventType, final PipelineSafety pipelineSafety, final boolean metrics, final boolean castEvent, final List<ListenerMethod> allMethods, final boolean[] directCalls, final EnumEventType type) {
+        int lastCancelledCheck = -1;
+        boolean keyed = false;
+        for (int i = 0; i < allMethods.size(); i++) {
+            final ListenerMethod listenerMethod = allMethods.get(i);
+            if (!isCalledFor(listenerMethod, type)) continue;
+            if (checksCancelled(eventType, listenerMethod)) lastCancelledCheck = i;
+            keyed |= IKeyedEvent.class.isAssignableFrom(eventType) && listenerMethod.getKeys().length != 0;
+        }
+        if (lastCancelledCheck != -1) { //Cast an IEvent implementation to a ICancellableEvent and store it, the cancelled state is read by the first check
+            visitor.visitVarInsn(Opcodes.ALOAD, 1);
+            visitor.visitTypeInsn(Opcodes.CHECKCAST, ICancellableEvent.class.getName().replace(".", "/"));
+            visitor.visitVarInsn(Opcodes.ASTORE, 2);
+            visitor.visitInsn(Opcodes.ICONST_M1);
+            visitor.visitVarInsn(Opcodes.ISTORE, 8);
+        }
+        if (castEvent) { //Cast the event to its real type once for all directly called listener
+            visitor.visitVarInsn(Opcodes.ALOAD, 1);
+            visitor.visitTypeInsn(Opcodes.CHECKCAST, eventType.getName().replace(".", "/"));
+            visitor.visitVarInsn(Opcodes.ASTORE, 4);
+        }
+        if (keyed) { //Get the key of a keyed event once and store it
+            visitor.visitVarInsn(Opcodes.ALOAD, 1);
+            visitor.visitTypeInsn(Opcodes.CHECKCAST, IKeyedEvent.class.getName().replace(".", "/"));
+            visitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, IKeyedEvent.class.getName().replace(".", "/"), ReflectUtils.getMethodByArgs(IKeyedEvent.class).getName(), "()I", true);
+            visitor.visitVarInsn(Opcodes.ISTORE, 7);
+        }
+        for (int i = 0; i < allMethods.size(); i++) {
+            if (!isCalledFor(allMethods.get(i), type)) continue;
+            if (!keyed || allMethods.get(i).getKeys().length == 0) {
+                visitListenerCall(visitor, pipelineName, eventType, pipelineSafety, metrics, allMethods.get(i), i, directCalls[i], i < lastCancelledCheck);
+                continue;
+            }
+            if (hasKeySet(eventType, allMethods.get(i))) { //Listener with multiple keys are only generated once and search the key in their sorted keys
+                final Label skip = new Label();
+                visitor.visitVarInsn(Opcodes.ALOAD, 0);
+                visitor.visitFieldInsn(Opcodes.GETFIELD, pipelineName, "keys" + i, "[I");
+                visitor.visitVarInsn(Opcodes.ILOAD, 7);
+                visitor.visitMethodInsn(Opcodes.INVOKESTATIC, "java/util/Arrays", "binarySearch", "([II)I", false);
+                visitor.visitJumpInsn(Opcodes.IFLT, skip);
+                visitListenerCall(visitor, pipelineName, eventType, pipelineSafety, metrics, allMethods.get(i), i, directCalls[i], i < lastCancelledCheck);
+                visitor.visitLabel(skip);
+                continue;
+            }
+            //Consecutive listener with a single key share a single switch so the order of all listener stays the same
+            int end = i + 1;
+            while (end < allMethods.size() && (allMethods.get(end).getKeys().length == 1 || !isCalledFor(allMethods.get(end), type))) end++;
+            visitKeySwitch(visitor, pipelineName, eventType, pipelineSafety, metrics, allMethods, directCalls, i, end, type, lastCancelledCheck);
+            i = end - 1;
+        }
+        { //Call the next segment if there is one
+            final Label noNext = new Label();
+            visitor.visitVarInsn(Opcodes.ALOAD, 0);
+            visitor.visitFieldInsn(Opcodes.GETFIELD, pipelineName, "next", Type.getDescriptor(IEventPipeline.class));
+            visitor.visitInsn(Opcodes.DUP);
+            visitor.visitJumpInsn(Opcodes.IFNULL, noNext);
+            visitor.visitVarInsn(Opcodes.ALOAD, 1);
+            visitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, IEventPipeline.class.getName().replace(".", "/"), ReflectUtils.getMethodByArgs(IEventPipeline.class, IEvent.class).getName(), "(" + Type.getDescriptor(IEvent.class) + ")V", true);
+            visitor.visitInsn(Opcodes.RETURN);
+            visitor.visitLabel(noNext);
+            visitor.visitInsn(Opcodes.POP);
+        }
+        visitor.visitInsn(Opcodes.RETURN);
+        visitor.visitEnd();
+    }
+
+    /**
+     * @param listenerMethod The listener method
+     * @param type           The type of the event or null if the listener types are not checked
+     * @return If the listener has to be called for events of the type
+     */
+    private static boolean isCalledFor(final ListenerMethod listenerMethod, final EnumEventType type) {
+        return type == null || EnumEventType.ALL.equals(listenerMethod.getEventTarget().type()) || type.equals(listenerMethod.getEventTarget().type());
+    }
+
+    /**
+     * @param eventType      The event class of the pipeline
+     * @param listenerMethod The listener method
+     * @return If the listener is registered for multiple keys which are passed to the pipeline as a sorted array
+     */
+    private static boolean hasKeySet(final Class<? extends IEvent> eventType, final ListenerMethod listenerMethod) {
+        return IKeyedEvent.class.isAssignableFrom(eventType) && listenerMethod.getKeys().length > 1;
+    }
+
+    /**
+     * @param eventType      The event class of the pipeline
+     * @param listenerMethod The listener method
+     * @return If the pipeline has to check the cancelled state before calling the listener
+     */
+    private static boolean checksCancelled(final Class<? extends IEvent> eventType, final ListenerMethod listenerMethod) {
+        if (IStoppableEvent.class.isAssignableFrom(eventType)) return true;
+        return ICancellableEvent.class.isAssignableFrom(eventType) && listenerMethod.getEventTarget().skipCancelled();
+    }
+
+    /**
+     * Generate a switch over the key of a keyed event (stored in local 7) which only calls the listener registered for the key<br>
+     * Dense keys use a {@code tableswitch}, sparse keys a {@code lookupswitch}. Only listener with a single key are part of the switch, so every listener is visited once
+     *
+     * @param visitor        The visitor of the call method
+     * @param pipelineName   The internal name of the pipeline class
+     * @param eventType      The event class of the pipeline
+     * @param pipelineSafety The pipeline safety of the event class or null if there is none
+     * @param metrics        If the calls should record metrics
+     * @param allMethods     All listener of the pipeline
+     * @param directCalls    Which listener are called directly
+     * @param start          The index of the first keyed listener
+     * @param end            The index after the last keyed listener
+     * @param type           The type of the event the method is called for or null if the listener types are not checked
+     * @param lastCancelledCheck The index of the last listener which checks the cancelled state
+     */
+    private static void visitKeySwitch(final MethodVisitor visitor, final String pipelineName, final Class<? extends IEvent> eventType, final PipelineSafety pipelineSafety, final boolean metrics, final List<ListenerMethod> allMethods, final boolean[] directCalls, final int start, final int end, final EnumEventType type, final int lastCancelledCheck) {
+        final Map<Integer, List<Integer>> keyListeners = new TreeMap<>();
+        for (int i = start; i < end; i++) {
+            if (!isCalledFor(allMethods.get(i), type)) continue;
+            for (int key : allMethods.get(i).getKeys()) keyListeners.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+        }
+        final int[] keys = new int[keyListeners.size()];
+        final Label[] labels = new Label[keys.length];
+        int keyIndex = 0;
+        for (Integer key : keyListeners.keySet()) {
+            keys[keyIndex] = key;
+            labels[keyIndex++] = new Label();
+        }
+        final Label switchEnd = new Label();
+
+        visitor.visitVarInsn(Opcodes.ILOAD, 7);
+        final long range = (long) keys[keys.length - 1] - keys[0] + 1;
+        if (range <= keys.length * 2L) {
+            final Label[] table = new Label[(int) range];
+            Arrays.fill(table, switchEnd);
+            for (int i = 0; i < keys.length; i++) table[keys[i] - keys[0]] = labels[i];
+            visitor.visitTableSwitchInsn(keys[0], keys[keys.length - 1], switchEnd, table);
+        } else {
+            visitor.visitLookupSwitchInsn(switchEnd, keys, labels);
+        }
+        keyIndex = 0;
+        for (List<Integer> listeners : keyListeners.values()) {
+            visitor.visitLabel(labels[keyIndex++]);
+            for (int index : listeners) visitListenerCall(visitor, pipelineName, eventType, pipelineSafety, metrics, allMethods.get(index), index, directCalls[index], index < lastCancelledCheck);
+            visitor.visitJumpInsn(Opcodes.GOTO, switchEnd);
+        }
+        visitor.visitLabel(switchEnd);
+    }
+
+    /**
+     * Generate the call of a single listener including all checks which decide if it should be called<br>
+     * Every call gets its own labels and try catch blocks so the same listener can be visited multiple times
+     *
+     * @param visitor        The visitor of the call method
+     * @param pipelineName   The internal name of the pipeline class
+     * @param eventType      The event class of the pipeline
+     * @param pipelineSafety The pipeline safety of the event class or null if there is none
+     * @param metrics        If the call should record metrics
+     * @param listenerMethod The listener to call
+     * @param index          The index of the listener in the pipeline
+     * @param directCall     If the listener method is called directly instead of through its wrapper
+     * @param updateCancelled If the cached cancelled state has to be invalidated after the listener or its guard was called
+     */
+    private static void visitListenerCall(final MethodVisitor visitor, final String pipelineName, final Class<? extends IEvent> eventType, final PipelineSafety pipelineSafety, final boolean metrics, final ListenerMethod listenerMethod, final int index, final boolean directCall, final boolean updateCancelled) {
+        final EventTarget eventTarget = listenerMethod.getEventTarget();
+        Label jumpAfter = null;
+        Label endBlock = null;
+        Label catchBlock = null;
+        Label metricsStart = null;
+        Label metricsEnd = null;
+        Label metricsCatch = null;
+        if (metrics) { //The try catch block has to be visited before the pipeline safety one so exceptions are counted before they are handled
+            metricsStart = new Label();
+            metricsEnd = new Label();
+            metricsCatch = new Label();
+
+            visitor.visitTryCatchBlock(metricsStart, metricsEnd, metricsCatch, "java/lang/Throwable");
+        }
+        if (pipelineSafety != null) {
+            final Label tryBlock = new Label();
+            endBlock = new Label();
+            catchBlock = new Label();
+
+            visitor.visitTryCatchBlock(tryBlock, endBlock, catchBlock, "java/lang/Throwable");
+            visitor.visitLabel(tryBlock);
+        }
+
+        //The type of typed events is not checked here, the listener are only visited in the call method of their type
+        if (IStoppableEvent.class.isAssignableFrom(eventType)) { //Check if the stoppable event is stopped and return if so
+            final Label skipReturn = new Label();
+
+            visitCancelledState(visitor);
+            visitor.visitJumpInsn(Opcodes.IFEQ, skipReturn);
+            visitor.visitInsn(Opcodes.RETURN);
+            visitor.visitLabel(skipReturn);
+        } else if (ICancellableEvent.class.isAssignableFrom(eventType) && eventTarget.skipCancelled()) { //Check if a cancellable event is cancelled and we do not want to listen for it
+            if (jumpAfter == null) jumpAfter = new Label();
+
+            visitCancelledState(visitor);
+            visitor.visitJumpInsn(Opcodes.IFNE, jumpAfter);
+        }
+        if (directCall && listenerMethod.getGuard() != null) { //Call the guard of the listener and skip the listener if it returns false (wrapped listener check the guard in their wrapper)
+            if (jumpAfter == null) jumpAfter = new Label();
+            final Method guard = listenerMethod.getGuard();
+            final String owner = guard.getDeclaringClass().getName().replace(".", "/");
+
+            if (!Modifier.isStatic(guard.getModifiers())) {
+                visitor.visitVarInsn(Opcodes.ALOAD, 0);
+                visitor.visitFieldInsn(Opcodes.GETFIELD, pipelineName, "listener" + index, Type.getDescriptor(listenerMethod.getListenerClass()));
+            }
+            if (guard.getParameterCount() != 0) visitor.visitVarInsn(Opcodes.ALOAD, 4);
+            if (Modifier.isStatic(guard.getModifiers())) visitor.visitMethodInsn(Opcodes.INVOKESTATIC, owner, guard.getName(), Type.getMethodDescriptor(guard), false);
+            else if (guard.getDeclaringClass().isInterface()) visitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, owner, guard.getName(), Type.getMethodDescriptor(guard), true);
+            else visitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, owner, guard.getName(), Type.getMethodDescriptor(guard), false);
+            if (updateCancelled && guard.getParameterCount() != 0) { //A guard receiving the event may have changed the cancelled state even if the listener is skipped
+                visitor.visitInsn(Opcodes.ICONST_M1);
+                visitor.visitVarInsn(Opcodes.ISTORE, 8);
+            }
+            visitor.visitJumpInsn(Opcodes.IFEQ, jumpAfter);
+        }
+        if (metrics) { //Store the start time of the listener call
+            visitor.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/System", "nanoTime", "()J", false);
+            visitor.visitVarInsn(Opcodes.LSTORE, 5);
+            visitor.visitLabel(metricsStart);
+        }
+        if (directCall) {
+            final Method method = listenerMethod.getMethod();
+            final String owner = listenerMethod.getListenerClass().getName().replace(".", "/");
+            if (!listenerMethod.isStatic()) {
+                visitor.visitVarInsn(Opcodes.ALOAD, 0);
+                visitor.visitFieldInsn(Opcodes.GETFIELD, pipelineName, "listener" + index, Type.getDescriptor(listenerMethod.getListenerClass()));
+            }
+            for (Class<?> param : method.getParameterTypes()) { //Load all method parameter or load null if it is not the current event
+                if (param.equals(listenerMethod.getEventType())) visitor.visitVarInsn(Opcodes.ALOAD, 4);
+                else if (param.equals(IEvent.class)) visitor.visitVarInsn(Opcodes.ALOAD, 1);
+                else ASMUtils.generateNullValue(visitor, param);
+            }
+            //And finally actually call the listener method without the wrapper in between
+            if (listenerMethod.isStatic()) visitor.visitMethodInsn(Opcodes.INVOKESTATIC, owner, method.getName(), Type.getMethodDescriptor(method), false);
+            else if (listenerMethod.getListenerClass().isInterface()) visitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, owner, method.getName(), Type.getMethodDescriptor(method), true);
+            else visitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, owner, method.getName(), Type.getMethodDescriptor(method), false);
+            if (!Type.getReturnType(method).equals(Type.VOID_TYPE)) visitor.visitInsn(Type.getReturnType(method).getSize() == 2 ? Opcodes.POP2 : Opcodes.POP);
+        } else {
+            visitor.visitVarInsn(Opcodes.ALOAD, 0);
+            visitor.visitFieldInsn(Opcodes.GETFIELD, pipelineName, "listener" + index, Type.getDescriptor(IWrappedCaller.class));
+            visitor.visitVarInsn(Opcodes.ALOAD, 1);
+            //And finally actually call the listener method
+            Method m = ReflectUtils.getMethodByArgs(IWrappedCaller.class, IEvent.class);
+            visitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, IWrappedCaller.class.getName().replace(".", "/"), m.getName(), Type.getMethodDescriptor(m), true);
+        }
+        if (metrics) { //Record the time of the call and rethrow exceptions after counting them
+            final Label metricsAfter = new Label();
+            visitor.visitLabel(metricsEnd);
+            visitMetricsRecord(visitor, pipelineName, index, "record");
+            visitor.visitJumpInsn(Opcodes.GOTO, metricsAfter);
+            visitor.visitLabel(metricsCatch);
+            visitMetricsRecord(visitor, pipelineName, index, "recordException");
+            visitor.visitInsn(Opcodes.ATHROW);
+            visitor.visitLabel(metricsAfter);
+        }
+        final Label called = updateCancelled ? new Label() : null;
+        if (pipelineSafety != null) {
+            if (jumpAfter == null) jumpAfter = new Label();
+            visitor.visitLabel(endBlock);
+            visitor.visitJumpInsn(Opcodes.GOTO, called != null ? called : jumpAfter);
+            visitor.visitLabel(catchBlock);
+            visitExceptionHandler(visitor, pipelineName, pipelineSafety);
+        }
+        if (called != null) { //The listener (or its guard in a wrapper) may have changed the cancelled state, skipped listener do not
+            visitor.visitLabel(called);
+            visitor.visitInsn(Opcodes.ICONST_M1);
+            visitor.visitVarInsn(Opcodes.ISTORE, 8);
+        }
+        if (jumpAfter != null) visitor.visitLabel(jumpAfter);
+    }
+
+    /**
+     * Generate the code which pushes the cancelled state of the event (stored in local 2) onto the stack<br>
+     * The state is only read from the event if the cached state in local 8 is unknown
+     *
+     * @param visitor The visitor of the call method
+     */
+    private static void visitCancelledState(final MethodVisitor visitor) {
+        final Label known = new Label();
+        visitor.visitVarInsn(Opcodes.ILOAD, 8);
+        visitor.visitJumpInsn(Opcodes.IFGE, known);
+        visitor.visitVarInsn(Opcodes.ALOAD, 2);
+        visitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, ICancellableEvent.class.getName().replace(".", "/"), ReflectUtils.getMethodByArgs(ICancellableEvent.class).getName(), "()Z", true);
+        visitor.visitVarInsn(Opcodes.ISTORE, 8);
+        visitor.visitLabel(known);
+        visitor.visitVarInsn(Opcodes.ILOAD, 8);
+    }
+
+    /**
+     * Generate the handling of an exception thrown by a listener (on top of the stack) depending on the pipeline safety
+     *
+     * @param visitor        The visitor of the call method
+     * @param pipelineName   The internal name of the pipeline class
+     * @param pipelineSafety The pipeline safety of the event
+     */
+    private static void visitExceptionHandler(final MethodVisitor visitor, final String pipelineName, final PipelineSafety pipelineSafety) {
+        switch (pipelineSafety.value()) {
+            case PRINT: //Print the exception
+                visitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/Throwable", "printStackTrace", "()V", false);
+                break;
+            case ERROR_LISTENER: //Call the error listener
+                visitor.visitVarInsn(Opcodes.ALOAD, 0);
+                visitor.visitFieldInsn(Opcodes.GETFIELD, pipelineName, "errorListener", Type.getDescriptor(IErrorListener.class));
+                visitor.visitInsn(Opcodes.SWAP);
+                final Method onExceptionMethod = ReflectUtils.getMethodByArgs(IErrorListener.class, Throwable.class);
+                visitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, IErrorListener.class.getName().replace(".", "/"), onExceptionMethod.getName(), Type.getMethodDescriptor(onExceptionMethod), true);
+                break;
+            case IGNORE: //Pop the exception of the stack
+                visitor.visitInsn(Opcodes.POP);
+        }
+    }
+
+    /**
+     * Generate the code which records the time since the start of a listener call (stored in local 5) into its metrics field
+     *
+     * @param visitor      The visitor of the call method
+     * @param pipelineName The internal name of the pipeline class
+     * @param index        The index of the listener
+     * @param methodName   The name of the record method in {@link ListenerMetrics}
+     */
+    private static void visitMetricsRecord(final MethodVisitor visitor, final String pipelineName, final int index, final String methodName) {
+        visitor.visitVarInsn(Opcodes.ALOAD, 0);
+        visitor.visitFieldInsn(Opcodes.GETFIELD, pipelineName, "metrics" + index, Type.getDescriptor(ListenerMetrics.class));
+        visitor.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/System", "nanoTime", "()J", false);
+        visitor.visitVarInsn(Opcodes.LLOAD, 5);
+        visitor.visitInsn(Opcodes.LSUB);
+        visitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, ListenerMetrics.class.getName().replace(".", "/"), methodName, "(J)V", false);
+    }
+
+    /**
+     * Internal method to get the metrics of a listener method for an event class
+     *
+     * @param eventType      The called event class
+     * @param listenerMethod The listener method
+     * @return The metrics which are shared by all listener instances of the method
+     */
+    private ListenerMetrics getMetrics(final Class<? extends IEvent> eventType, final ListenerMethod listenerMethod) {
+        return this.listenerMetrics.computeIfAbsent(new Tuple<>(eventType, listenerMethod.getMethod()), key -> new ListenerMetrics(eventType, listenerMethod.getMethod()));
+    }
+
+    /**
+     * Internal method to get the distance of a listener event type in the hierarchy of an event class<br>
+     * Used to order listeners with the same priority
+     *
+     * @param eventClass The called event class
+     * @param eventType  The event type the listener is registered for
+     * @return The least amount of super class/interface steps from the event class to the event type or {@link Integer#MAX_VALUE} for {@link IEvent}
+     */
+    private static int getHierarchyDistance(final Class<? extends IEvent> eventClass, final Class<? extends IEvent> eventType) {
+        if (IEvent.class.equals(eventType)) return Integer.MAX_VALUE;
+        List<Class<?>> current = Collections.singletonList(eventClass);
+        for (int distance = 0; !current.isEmpty(); distance++) {
+            final List<Class<?>> next = new ArrayList<>();
+            for (Class<?> clazz : current) {
+                if (clazz.equals(eventType)) return distance;
+                if (clazz.getSuperclass() != null) next.add(clazz.getSuperclass());
+                Collections.addAll(next, clazz.getInterfaces());
+            }
+            current = next;
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Internal method to find the host class the pipeline should be defined next to<br>
+     * Prefers a class whose loader can see the event and all listener classes so every listener can be called directly
+     *
+     * @param eventType The event of the pipeline
+     * @param methods   All listener methods of the pipeline
+     * @return The host class of the pipeline
+     */
+    private Class<?> findPipelineHost(final Class<? extends IEvent> eventType, final List<ListenerMethod> methods) {
+        final Map<ClassLoader, Class<?>> candidates = new LinkedHashMap<>();
+        candidates.put(EventBus.class.getClassLoader(), EventBus.class);
+        candidates.putIfAbsent(eventType.getClassLoader(), eventType);
+        for (ListenerMethod method : methods) candidates.putIfAbsent(method.getListenerClass().getClassLoader(), method.getListenerClass());
+
+        for (Map.Entry<ClassLoader, Class<?>> entry : candidates.entrySet()) {
+            final ClassLoader candidate = entry.getKey();
+            if (candidate == null || !isVisible(candidate, IEventPipeline.class) || !isVisible(candidate, eventType)) continue;
+
+            boolean seesAll = true;
+            for (ListenerMethod method : methods) {
+                if (!isVisible(candidate, method.getListenerClass())) {
+                    seesAll = false;
+                    break;
+                }
+            }
+            if (seesAll) return entry.getValue();
+        }
+        return EventBus.class;
+    }
+
+    /**
+     * Internal method to check if a class can be referenced directly from a class defined using the given loader
+     *
+     * @param loader The parent loader of the generated class
+     * @param clazz  The class which should be referenced
+     * @return If the class is public and resolves to the same class
+     */
+    private static boolean canCallDirectly(final ClassLoader loader, final Class<?> clazz) {
+        return Modifier.isPublic(clazz.getModifiers()) && isVisible(loader, clazz);
+    }
+
+    /**
+     * Internal method to check if a listener method can be invoked directly from a pipeline defined using the given loader
+     *
+     * @param loader The parent loader of the pipeline
+     * @param method The listener method
+     * @return If the pipeline can call the method without a wrapper
+     */
+    private static boolean canCallDirectly(final ClassLoader loader, final Method method) {
+        if (!Modifier.isPublic(method.getModifiers()) || !canCallDirectly(loader, method.getDeclaringClass())) return false;
+        for (Class<?> param : method.getParameterTypes()) {
+            if (!isVisible(loader, param)) return false;
+        }
+        return isVisible(loader, method.getReturnType());
+    }
+
+    /**
+     * Internal method to check if a class resolves to the same class using the given loader
+     *
+     * @param loader The loader to resolve the class with
+     * @param clazz  The class to resolve
+     * @return If the class is visible
+     */
+    private static boolean isVisible(final ClassLoader loader, Class<?> clazz) {
+        while (clazz.isArray()) clazz = clazz.getComponentType();
+        if (clazz.isPrimitive()) return true;
+        try {
+            return Class.forName(clazz.getName(), false, loader) == clazz;
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
+    /**
+     * Generate a call wrapper using the class loader of the listener<br>
+     * This fixes ClassLoader problems because the event listener is always executed from a class loaded with the same loader<br>
+     * The wrapper class is only generated once per method and event type and then shared between all listener instances<br>
+     * Wrappers pregenerated by the {@link net.lenni0451.asmevents.processor.EventTargetProcessor} are used instead if present (the processor skips listener with a guard)<br>
+     * Weak listener get a separate wrapper which holds the weak reference and skips the call if the listener has been collected<br>
+     * Guards which are not public (or are declared in a non public class) can not be called from the wrapper in every case and are checked through a method handle instead
+     *
+     * @param listenerMethod The listener method to wrap
+     */
+    private IWrappedCaller wrap(final ListenerMethod listenerMethod) {
+        final Method method = listenerMethod.getMethod();
+        final Class<? extends IEvent> eventType = listenerMethod.getEventType();
+        final Method guard = listenerMethod.getGuard() != null && canCallFromWrapper(listenerMethod.getGuard()) ? listenerMethod.getGuard() : null;
+
+        try {
+            final IWrappedCaller caller;
+            if (listenerMethod.isWeak()) {
+                //The declaring class is used as the collected listener instance may not be available anymore
+                final Class<?> listenerClass = listenerMethod.getListenerClass();
+                final Class<? extends IWrappedCaller> wrapperClass = this.weakWrapperClasses.get(listenerClass).computeIfAbsent(new Tuple<>(method, eventType), key -> this.generateWrapper(listenerClass, method, eventType, guard, true));
+                caller = wrapperClass.getDeclaredConstructor(Object.class).newInstance(listenerMethod.getReference());
+            } else {
+                final Object listener = listenerMethod.getListener();
+                final boolean isStatic = listener instanceof Class;
+                final Class<?> listenerClass = isStatic ? (Class<?>) listener : listener.getClass();
+                final Class<? extends IWrappedCaller> wrapperClass = this.wrapperClasses.get(listenerClass).computeIfAbsent(new Tuple<>(method, eventType), key -> {
+                    final Class<? extends IWrappedCaller> pregenerated = guard == null ? PregeneratedWrappers.findWrapper(method, eventType) : null;
+                    if (pregenerated != null) return pregenerated;
+                    return this.generateWrapper(listenerClass, method, eventType, guard, false);
+                });
+                if (isStatic) caller = wrapperClass.getDeclaredConstructor().newInstance();
+                else caller = wrapperClass.getDeclaredConstructor(Object.class).newInstance(listener);
+            }
+            if (listenerMethod.getGuard() == null || guard != null) return caller;
+            return new GuardedCaller(createGuardHandle(listenerMethod.getGuard()), listenerMethod.isWeak() ? null : listenerMethod.getListener(), listenerMethod.getReference(), caller);
+        } catch (Throwable t) {
+            this.errorListener.onException(t);
+        }
+        return null;
+    }
+
+    /**
+     * Internal method to check if a guard can be invoked from a generated wrapper<br>
+     * The wrapper is defined in a different runtime package if hidden classes are not available, so only public guards of public classes are always accessible
+     *
+     * @param guard The guard method
+     * @return If the wrapper can call the guard directly
+     */
+    private static boolean canCallFromWrapper(final Method guard) {
+        return Modifier.isPublic(guard.getModifiers()) && Modifier.isPublic(guard.getDeclaringClass().getModifiers());
+    }
+
+    /**
+     * Internal method to create a method handle of the type {@code (Object, IEvent)boolean} which calls a guard<br>
+     * The first parameter is the listener instance which is ignored for static guards
+     *
+     * @param guardMethod The guard method
+     * @return The method handle
+     * @throws IllegalAccessException If the guard can not be accessed using reflection
+     */
+    private static MethodHandle createGuardHandle(final Method guardMethod) throws IllegalAccessException {
+        guardMethod.setAccessible(true);
+        MethodHandle guard = MethodHandles.lookup().unreflect(guardMethod);
+        if (Modifier.isStatic(guardMethod.getModifiers())) guard = MethodHandles.dropArguments(guard, 0, Object.class);
+        if (guardMethod.getParameterCount() == 0) guard = MethodHandles.dropArguments(guard, 1, IEvent.class);
+        return guard.asType(MethodType.methodType(boolean.class, Object.class, IEvent.class));
+    }
+
+    /**
+     * Internal method to generate and define the class of a call wrapper<br>
+     * Non static wrappers get the listener instance (or the weak reference to it) passed in the constructor
+     *
+     * @param listenerClass The class containing the listener method
+     * @param method        The method to execute
+     * @param eventType     The event the wrapper is generated for
+     * @param guard         The guard which is checked before the call or null if there is none
+     * @param weak          If the wrapper should hold a weak reference to the listener
+     */
+    private Class<? extends IWrappedCaller> generateWrapper(final Class<?> listenerClass, final Method method, final Class<? extends IEvent> eventType, final Method guard, final boolean weak) {
+        final boolean isStatic = Modifier.isStatic(method.getModifiers());
+        final Class<?> fieldType = weak ? WeakReference.class : listenerClass;
+
+        ClassNode node = new ClassNode();
+        node.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, ClassDefiner.getClassName(listenerClass, weak ? "WeakWrapper" : "Wrapper"), null, "java/lang/Object", new String[]{IWrappedCaller.class.getName().replace(".", "/")});
+        if (isStatic) {
+            ASMUtils.addDefaultConstructor(node);
+        } else {
+            node.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, "listener", Type.getDescriptor(fieldType), null, null);
+
+            //Constructor which takes the listener instance
+            MethodVisitor mv = node.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "(Ljava/lang/Object;)V", null, null);
+            mv.visitVarInsn(Opcodes.ALOAD, 0);
+            mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+            mv.visitVarInsn(Opcodes.ALOAD, 0);
+            mv.visitVarInsn(Opcodes.ALOAD, 1);
+            mv.visitTypeInsn(Opcodes.CHECKCAST, fieldType.getName().replace(".", "/"));
+            mv.visitFieldInsn(Opcodes.PUTFIELD, node.name, "listener", Type.getDescriptor(fieldType));
+            mv.visitInsn(Opcodes.RETURN);
+        }
+        {
+            MethodVisitor mv = node.visitMethod(Opcodes.ACC_PUBLIC, ReflectUtils.getMethodByArgs(IWrappedCaller.class, IEvent.class).getName(), "(" + Type.getDescriptor(IEvent.class) + ")V", null, null);
+            if (!isStatic) {
+                mv.visitVarInsn(Opcodes.ALOAD, 0);
+                mv.visitFieldInsn(Opcodes.GETFIELD, node.name, "listener", Type.getDescriptor(fieldType));
+            }
+            if (!isStatic && weak) { //Get the listener from the weak reference and return if it has been collected
+                final Label notCollected = new Label();
+                mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/ref/Reference", "get", "()Ljava/lang/Object;", false);
+                mv.visitInsn(Opcodes.DUP);
+                mv.visitJumpInsn(Opcodes.IFNONNULL, notCollected);
+                mv.visitInsn(Opcodes.POP);
+                mv.visitInsn(Opcodes.RETURN);
+                mv.visitLabel(notCollected);
+                mv.visitTypeInsn(Opcodes.CHECKCAST, listenerClass.getName().replace(".", "/"));
+            }
+            if (guard != null) { //Call the guard and return if it rejects the event
+                final Label accepted = new Label();
+                final String owner = guard.getDeclaringClass().getName().replace(".", "/");
+                final boolean staticGuard = Modifier.isStatic(guard.getModifiers());
+                if (!staticGuard) mv.visitInsn(Opcodes.DUP);
+                if (guard.getParameterCount() != 0) {
+                    mv.visitVarInsn(Opcodes.ALOAD, 1);
+                    if (!guard.getParameterTypes()[0].equals(IEvent.class)) mv.visitTypeInsn(Opcodes.CHECKCAST, guard.getParameterTypes()[0].getName().replace(".", "/"));
+                }
+                if (staticGuard) mv.visitMethodInsn(Opcodes.INVOKESTATIC, owner, guard.getName(), Type.getMethodDescriptor(guard), false);
+                else mv.visitMethodInsn(guard.getDeclaringClass().isInterface() ? Opcodes.INVOKEINTERFACE : Opcodes.INVOKEVIRTUAL, owner, guard.getName(), Type.getMethodDescriptor(guard), guard.getDeclaringClass().isInterface());
+                mv.visitJumpInsn(Opcodes.IFNE, accepted);
+                if (!isStatic) mv.visitInsn(Opcodes.POP);
+                mv.visitInsn(Opcodes.RETURN);
+                mv.visitLabel(accepted);
+            }
+            for (Class<?> param : method.getParameterTypes()) { //Load all method parameter or load null if it is not the current event
+                if (param.equals(eventType)) {
+                    mv.visitVarInsn(Opcodes.ALOAD, 1);
+                    mv.visitTypeInsn(Opcodes.CHECKCAST, eventType.getName().replace(".", "/"));
+                } else if (param.equals(IEvent.class)) {
+                    mv.visitVarInsn(Opcodes.ALOAD, 1);
+                } else {
+                    ASMUtils.generateNullValue(mv, param);
+                }
+            }
+            if (isStatic) {
+                mv.visitMethodInsn(Opcodes.INVOKESTATIC, listenerClass.getName().replace(".", "/"), method.getName(), Type.getMethodDescriptor(method), false);
+            } else {
+                mv.visitMethodInsn(method.getDeclaringClass().isInterface() ? Opcodes.INVOKEINTERFACE : Opcodes.INVOKEVIRTUAL, listenerClass.getName().replace(".", "/"), method.getName(), Type.getMethodDescriptor(method), method.getDeclaringClass().isInterface());
+            }
+            mv.visitInsn(Opcodes.RETURN);
+        }
+        return this.defineClass(listenerClass, node, listenerClass, eventType);
+    }
+
+    /**
+     * Compute the frames of a generated class and define it next to the host class<br>
+     * If a cache directory is set the class bytes are taken from the cache if possible
+     *
+     * @param host         The host class of the generated class
+     * @param node         The generated class, its name gets a unique suffix
+     * @param dependencies All classes referenced by the generated class
+     */
+    private <T> Class<T> defineClass(final Class<?> host, final ClassNode node, final Class<?>... dependencies) {
+        final ClassCache classCache = this.classCache;
+        final String key = classCache == null ? null : classCache.getKey(node, dependencies);
+        if (key == null) {
+            ASMUtils.renameClass(node, node.name + System.nanoTime());
+            return this.classDefiner.define(host, node.name.replace("/", "."), ASMUtils.toBytes(node));
+        }
+
+        //The name is derived from the key so the cached bytes can be defined without changes
+        ASMUtils.renameClass(node, node.name + "$" + key.substring(0, 16));
+        final byte[] cachedBytes = classCache.get(key);
+        if (cachedBytes != null) {
+            try {
+                final Class<T> definedClass = this.classDefiner.define(host, node.name.replace("/", "."), cachedBytes);
+                try {
+                    //Initialize the class to make sure the cached bytes pass the verifier
+                    Class.forName(definedClass.getName(), true, definedClass.getClassLoader());
+                } catch (ClassNotFoundException ignored) {
+                    //Hidden classes can not be found by name but are already initialized
+                }
+                return definedClass;
+            } catch (Throwable t) {
+                //The cached class is broken or does not fit the current classes anymore
+                //The new bytes are cached under the same name, but the broken class may already occupy it in this run
+                final byte[] bytes = ASMUtils.toBytes(node);
+                if (Arrays.equals(bytes, cachedBytes)) classCache.invalidate(key);
+                else classCache.put(key, bytes);
+                ASMUtils.renameClass(node, node.name + System.nanoTime());
+                return this.classDefiner.define(host, node.name.replace("/", "."), ASMUtils.toBytes(node));
+            }
+        }
+        final byte[] bytes = ASMUtils.toBytes(node);
+        classCache.put(key, bytes);
+        return this.classDefiner.define(host, node.name.replace("/", "."), bytes);
+    }
+
+
+    /**
+     * Set the directory used to cache generated classes between restarts<br>
+     * The cache is only used for listener and event classes which can be read from their class loader<br>
+     * Already generated pipelines and wrappers are not affected
+     *
+     * @param directory The cache directory or null to disable the cache
+     * @throws IOException If the cache could not be opened
+     */
+    public void setCacheDirectory(final File directory) throws IOException {
+        this.classCache = directory == null ? null : new ClassCache(directory);
+    }
+
+    /**
+     * Enable or disable listener metrics<br>
+     * If enabled every pipeline records the amount of calls, the total and max time and the amount of exceptions of every listener<br>
+     * All known pipelines are rebuilt, with metrics disabled the pipelines do not contain any metrics code and all recorded metrics are removed
+     *
+     * @param metrics If listener metrics should be recorded
+     */
+    public void setMetrics(final boolean metrics) {
+        this.metrics = metrics;
+        final List<Class<? extends IEvent>> knownClasses;
+        synchronized (this.eventClasses) {
+            knownClasses = new ArrayList<>(this.eventClasses);
+        }
+        this.updatePipelines(knownClasses);
+        if (!metrics) this.listenerMetrics.clear();
+    }
+
+    /**
+     * Get a snapshot of the metrics of all registered listener methods which were part of a pipeline while metrics were enabled<br>
+     * Listener methods are listed once per called event class
+     *
+     * @return The snapshots of all listener metrics
+     */
+    public List<ListenerMetricsSnapshot> getMetrics() {
+        final List<ListenerMetricsSnapshot> snapshots = new ArrayList<>();
+        for (ListenerMetrics metrics : this.listenerMetrics.values()) snapshots.add(metrics.snapshot());
+        return snapshots;
+    }
+
+    /**
+     * Reset the metrics of all listener methods
+     */
+    public void resetMetrics() {
+        for (ListenerMetrics metrics : this.listenerMetrics.values()) metrics.reset();
+    }
+
+    /**
+     * Set the amount of calls after which an event pipeline is generated<br>
+     * Until then the listener are called through method handles which is slower but does not need any class to be generated<br>
+     * Pipelines fall back to method handles every time their listeners change<br>
+     * This keeps registering listener of rarely called events cheap while often called events still get a generated pipeline<br>
+     * The pipeline is generated on the thread which reaches the threshold<br>
+     * By default (0) pipelines are always generated right away
+     *
+     * @param compileThreshold The amount of calls or 0 to always generate pipelines
+     */
+    public void setCompileThreshold(final int compileThreshold) {
+        if (compileThreshold < 0) throw new IllegalArgumentException("The compile threshold can not be negative");
+        this.compileThreshold = compileThreshold;
+    }
+
+    /**
+     * Enable or disable lazy pipelines<br>
+     * If enabled registering and unregistering listeners only discards the affected pipelines<br>
+     * The pipeline of an event class is then generated on its first call or when it is warmed using {@link #warm(Class[])}<br>
+     * Calls of an already generated pipeline are not slower than without lazy pipelines
+     *
+     * @param lazyPipelines If pipelines should be generated on their first call
+     */
+    public void setLazyPipelines(final boolean lazyPipelines) {
+        this.lazyPipelines = lazyPipelines;
+    }
+
+    /**
+     * Enable or disable direct invocation of listener methods<br>
+     * If enabled pipelines call visible public listener methods directly instead of going through a generated wrapper<br>
+     * Listener which can not be seen by the pipeline always fall back to the wrapper<br>
+     * Already generated pipelines are only affected after they have been rebuilt
+     *
+     * @param directInvocation If listener methods should be called directly
+     */
+    public void setDirectInvocation(final boolean directInvocation) {
+        this.directInvocation = directInvocation;
+    }
+
+    /**
+     * @return The pool parallel listener are called on
+     */
+    public ForkJoinPool getParallelPool() {
+        return this.parallelPool;
+    }
+
+    /**
+     * Set the pool listener with {@link EventTarget#parallel()} are called on<br>
+     * By default the {@link ForkJoinPool#commonPool()} is used<br>
+     * Already generated pipelines are only affected after they have been rebuilt
+     *
+     * @param parallelPool The pool
+     */
+    public void setParallelPool(final ForkJoinPool parallelPool) {
+        Objects.requireNonNull(parallelPool);
+
+        this.parallelPool = parallelPool;
+    }
+
+    /**
+     * @return The handler of unhandled exceptions
+     */
+    public IErrorListener getErrorListener() {
+        return this.errorListener;
+    }
+
+    /**
+     * Set the handler of unhandled exceptions<br>
+     * By default all exceptions are thrown as RuntimeExceptions<br>
+     * You may want to just print them to prevent the program from crashing<br>
+     * <br>
+     * If an event has the {@link PipelineSafety} annotation and uses {@link EnumPipelineSafety#ERROR_LISTENER} the pipeline of the event has to be rebuilt to update the error listener
+     *
+     * @param errorListener The listener
+     */
+    public void setErrorListener(final IErrorListener errorListener) {
+        Objects.requireNonNull(errorListener);
+
+        this.errorListener = errorListener;
+    }
+
+}
@@ -1,36 +1,32 @@
 package net.lenni0451.asmevents;
 
 import net.lenni0451.asmevents.event.EnumPipelineSafety;
-import net.lenni0451.asmevents.event.EventTarget;
 import net.lenni0451.asmevents.event.IEvent;
 import net.lenni0451.asmevents.event.PipelineSafety;
-import net.lenni0451.asmevents.event.enums.EnumEventType;
-import net.lenni0451.asmevents.event.types.ICancellableEvent;
-import net.lenni0451.asmevents.event.types.IStoppableEvent;
-import net.lenni0451.asmevents.event.types.ITypedEvent;
-import net.lenni0451.asmevents.internal.IEventPipeline;
-import net.lenni0451.asmevents.internal.IWrappedCaller;
-import net.lenni0451.asmevents.internal.RuntimeThrowErrorListener;
-import net.lenni0451.asmevents.utils.ASMUtils;
-import net.lenni0451.asmevents.utils.ClassDefiner;
-import net.lenni0451.asmevents.utils.ReflectUtils;
-import net.lenni0451.asmevents.utils.Tuple;
-import org.objectweb.asm.Label;
-import org.objectweb.asm.MethodVisitor;
-import org.objectweb.asm.Opcodes;
-import org.objectweb.asm.Type;
-import org.objectweb.asm.tree.ClassNode;
-
-import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-
+import net.lenni0451.asmevents.event.types.IPayloadEvent;
+import net.lenni0451.asmevents.metrics.ListenerMetricsSnapshot;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Static access to the default {@link EventBus}<br>
+ * Create your own {@link EventBus} instances if you need independent listeners and pipelines
+ */
 public class EventManager {
 
-    private static final Map<Class<? extends IEvent>, Map<Object, Map<Method, IWrappedCaller>>> EVENT_LISTENER = new ConcurrentHashMap<>();
-    private static final Map<Class<? extends IEvent>, IEventPipeline> EVENT_PIPELINES = new ConcurrentHashMap<>();
-    private static IErrorListener ERROR_LISTENER = new RuntimeThrowErrorListener();
+    private static final EventBus EVENT_BUS = new EventBus();
+
+    /**
+     * @return The default event bus used by all static methods
+     */
+    public static EventBus getEventBus() {
+        return EVENT_BUS;
+    }
 
     /**
      * Register all events in the class<br>
@@ -39,7 +35,7 @@ public class EventManager {
      * @param listener The instance or class of the listener
      */
     public static void register(final Object listener) {
-        register(null, listener);
+        EVENT_BUS.register(listener);
     }
 
     /**
@@ -51,50 +47,59 @@ public class EventManager {
      * @param listener   The instance or class of the listener
      */
     public static void register(final Class<? extends IEvent> eventClass, final Object listener) {
-        Objects.requireNonNull(listener);
-        final Class<?> listenerClass = (listener instanceof Class<?> ? (Class<?>) listener : listener.getClass());
-        final Set<Class<? extends IEvent>> updatedEvents = new HashSet<>();
-
-        for (Method method : listenerClass.getDeclaredMethods()) {
-            EventTarget eventTarget = method.getDeclaredAnnotation(EventTarget.class);
-            if (eventTarget == null) continue;
-            for (Class<?> type : method.getParameterTypes()) {
-                if (eventClass != null && !eventClass.equals(type)) continue;
-                if (!IEvent.class.isAssignableFrom(type)) continue;
-
-                //Cast is not unchecked, believe me
-                updatedEvents.add((Class<? extends IEvent>) type);
-                register((Class<? extends IEvent>) type, listener, method);
-            }
-            for (Class<? extends IEvent> type : eventTarget.noParamEvents()) {
-                if (eventClass != null && !eventClass.equals(type)) continue;
-
-                updatedEvents.add(type);
-                register(type, listener, method);
-            }
-        }
-        updatePipelines(updatedEvents);
+        EVENT_BUS.register(eventClass, listener);
     }
 
     /**
-     * Internal method to register a listener
+     * Register all events of multiple listeners at once<br>
+     * Every affected pipeline is only rebuilt once after all listeners have been registered<br>
+     * If a listener is a class only static events are registered
      *
-     * @param eventClass The class of the event to register
-     * @param listener   The class for static or the instance for non static listener
-     * @param method     The method to execute
+     * @param listeners The instances or classes of the listeners
      */
-    private static void register(final Class<? extends IEvent> eventClass, final Object listener, final Method method) {
-        Objects.requireNonNull(eventClass);
-        Objects.requireNonNull(listener);
-        Objects.requireNonNull(method);
+    public static void registerAll(final Object... listeners) {
+        EVENT_BUS.registerAll(listeners);
+    }
 
-        if (listener instanceof Class<?> && !Modifier.isStatic(method.getModifiers())) return;
-        if (!(listener instanceof Class<?>) && Modifier.isStatic(method.getModifiers())) return;
+    /**
+     * Only register a single event type of multiple listeners at once<br>
+     * Every affected pipeline is only rebuilt once after all listeners have been registered<br>
+     * If the eventClass is null all events are registered<br>
+     * If a listener is a class only static events are registered
+     *
+     * @param eventClass The event you want to register or null to register all events
+     * @param listeners  The instances or classes of the listeners
+     */
+    public static void registerAll(final Class<? extends IEvent> eventClass, final Object... listeners) {
+        EVENT_BUS.registerAll(eventClass, listeners);
+    }
 
-        final Map<Object, Map<Method, IWrappedCaller>> listenerClassToMethods = EVENT_LISTENER.computeIfAbsent(eventClass, c -> new HashMap<>());
-        final Map<Method, IWrappedCaller> methods = listenerClassToMethods.computeIfAbsent(listener, c -> new ConcurrentHashMap<>());
+    /**
+     * Register all events of a listener instance without keeping it alive<br>
+     * The pipelines only hold a weak reference to the listener and skip it once it has been garbage collected<br>
+     * Collected listener are removed on the next (un)register or {@link #cleanUp()}<br>
+     * An instance which is already registered normally stays strongly referenced
+     *
+     * @param listener The instance of the listener
+     * @throws IllegalArgumentException If the listener is a class
+     */
+    public static void registerWeak(final Object listener) {
+        EVENT_BUS.registerWeak(listener);
+    }
 
-        if (!methods.containsKey(method)) methods.put(method, wrap(listener, method, eventClass));
+    /**
+     * Only register a single event type of a listener instance without keeping it alive<br>
+     * If the eventClass is null all events are registered<br>
+     * The pipelines only hold a weak reference to the listener and skip it once it has been garbage collected<br>
+     * Collected listener are removed on the next (un)register or {@link #cleanUp()}<br>
+     * An instance which is already registered normally stays strongly referenced
+     *
+     * @param eventClass The event you want to register or null to register all events
+     * @param listener   The instance of the listener
+     * @throws IllegalArgumentException If the listener is a class
+     */
+    public static void registerWeak(final Class<? extends IEvent> eventClass, final Object listener) {
+        EVENT_BUS.registerWeak(eventClass, listener);
     }
 
 
@@ -106,11 +111,19 @@ public class EventManager {
      * @param listener The class or instance of the listener
      */
     public static void unregister(final Object listener) {
-        Objects.requireNonNull(listener);
+        EVENT_BUS.unregister(listener);
+    }
 
-        for (Map.Entry<Class<? extends IEvent>, Map<Object, Map<Method, IWrappedCaller>>> entry : EVENT_LISTENER.entrySet()) {
-            if (entry.getValue().containsKey(listener)) unregister(entry.getKey(), listener);
-        }
+    /**
+     * Unregister all events from multiple classes or listener instances at once<br>
+     * Every affected pipeline is only rebuilt once after all listeners have been unregistered<br>
+     * If a listener is a class all static events get unregistered<br>
+     * If a listener is an instance all non static events get unregistered
+     *
+     * @param listeners The classes or instances of the listeners
+     */
+    public static void unregisterAll(final Object... listeners) {
+        EVENT_BUS.unregisterAll(listeners);
     }
 
     /**
@@ -122,264 +135,186 @@ public class EventManager {
      * @param listener   The class or instance of the listener
      */
     public static void unregister(final Class<? extends IEvent> eventClass, final Object listener) {
-        Objects.requireNonNull(listener);
-
-        EVENT_LISTENER.get(eventClass).remove(listener);
-        if (EVENT_LISTENER.get(eventClass).isEmpty()) {
-            EVENT_LISTENER.remove(eventClass);
-            EVENT_PIPELINES.remove(eventClass);
-        } else {
-            updatePipeline(eventClass);
-        }
+        EVENT_BUS.unregister(eventClass, listener);
+    }
+
+    /**
+     * Remove all weak listener which have been garbage collected and rebuild the affected pipelines<br>
+     * This is done automatically on every (un)register, collected listener are skipped by the pipelines until then
+     */
+    public static void cleanUp() {
+        EVENT_BUS.cleanUp();
     }
 
 
     /**
-     * Call an event and pass it into the pipeline
+     * Call an event and pass it into the pipeline<br>
+     * All listeners of the event class, its super classes and its interfaces are called in a single pipeline
      *
      * @param event The event to call
      * @return The same event you already passed
      */
     public static <T extends IEvent> T call(final T event) {
-        Objects.requireNonNull(event);
-
-        try {
-            IEventPipeline pipeline = EVENT_PIPELINES.get(event.getClass());
-            if (pipeline != null) pipeline.call(event);
-        } catch (Throwable t) {
-            ERROR_LISTENER.onException(t);
-        }
-        try {
-            IEventPipeline pipeline = EVENT_PIPELINES.get(IEvent.class);
-            if (pipeline != null) pipeline.call(event);
-        } catch (Throwable t) {
-            ERROR_LISTENER.onException(t);
-        }
-
-        return event;
+        return EVENT_BUS.call(event);
+    }
+
+    /**
+     * Call a batch of events of the same class<br>
+     * The pipeline is looked up once and loops over all events in the generated code<br>
+     * This behaves the same as calling every event in order using {@link #call(IEvent)}<br>
+     * If not all events are exactly of the given class they are called one by one
+     *
+     * @param eventClass The class of all events
+     * @param events     The events to call
+     * @return The same events you already passed
+     */
+    public static <T extends IEvent> T[] callAll(final Class<T> eventClass, final T[] events) {
+        return EVENT_BUS.callAll(eventClass, events);
+    }
+
+    /**
+     * Call a batch of events of the same class<br>
+     * The pipeline is looked up once and loops over all events in the generated code<br>
+     * This behaves the same as calling every event in order using {@link #call(IEvent)}<br>
+     * If not all events are exactly of the given class they are called one by one
+     *
+     * @param eventClass The class of all events
+     * @param events     The events to call
+     * @return The same events you already passed
+     */
+    public static <T extends IEvent> List<T> callAll(final Class<T> eventClass, final List<T> events) {
+        return EVENT_BUS.callAll(eventClass, events);
+    }
+
+    /**
+     * Call an event asynchronously using the given executor<br>
+     * The whole pipeline is executed on a single thread of the executor so the priority order and cancelling/stopping work the same as with {@link #call(IEvent)}<br>
+     * Exceptions are passed to the error listener. If it throws (default behaviour) the returned future is completed exceptionally<br>
+     * The call path does not block, so virtual thread executors can be used without pinning carrier threads
+     *
+     * @param event    The event to call
+     * @param executor The executor to run the pipeline on
+     * @return A future which is completed with the same event after all listeners have been called
+     */
+    public static <T extends IEvent> CompletableFuture<T> callAsync(final T event, final Executor executor) {
+        return EVENT_BUS.callAsync(event, executor);
+    }
+
+    /**
+     * Get the invoker of a payload event<br>
+     * Calling the method of the invoker calls all listener of the event with the passed arguments without creating an event object<br>
+     * The invoker stays valid and always calls the current listener, so it can be stored and reused<br>
+     * Payload pipelines are always generated right away and do not record metrics
+     *
+     * @param eventType The interface of the payload event
+     * @param <T>       The type of the payload event
+     * @return The invoker of the event
+     * @throws IllegalArgumentException If the event is not an interface with a single void method
+     */
+    public static <T extends IPayloadEvent> T getInvoker(final Class<T> eventType) {
+        return EVENT_BUS.getInvoker(eventType);
     }
 
 
     /**
-     * Internal method to recalculate a list of event pipelines
+     * Build the pipelines of the given event classes now instead of on their first call<br>
+     * Useful with lazy pipelines to move the generation out of the first call
      *
-     * @param eventTypes The list of events to recalculate
+     * @param eventClasses The event classes to build the pipelines for
      */
-    private static void updatePipelines(final Collection<Class<? extends IEvent>> eventTypes) {
-        for (Class<? extends IEvent> eventType : eventTypes) updatePipeline(eventType);
+    @SafeVarargs
+    public static void warm(final Class<? extends IEvent>... eventClasses) {
+        EVENT_BUS.warm(eventClasses);
     }
 
     /**
-     * Internal method to recalculate a event pipeline
+     * Enable or disable listener metrics<br>
+     * If enabled every pipeline records the amount of calls, the total and max time and the amount of exceptions of every listener<br>
+     * All known pipelines are rebuilt, with metrics disabled the pipelines do not contain any metrics code
      *
-     * @param eventType The event to recalculate
+     * @param metrics If listener metrics should be recorded
      */
-    private static void updatePipeline(final Class<? extends IEvent> eventType) {
-        final Map<Object, Map<Method, IWrappedCaller>> listenerMethods = EVENT_LISTENER.get(eventType);
-        if (listenerMethods == null) return;
-
-        final PipelineSafety pipelineSafety = eventType.getDeclaredAnnotation(PipelineSafety.class);
-        final boolean needsListener;
-        final List<Tuple<Method, IWrappedCaller>> allMethods = new ArrayList<>();
-
-        { //Prepare list of all methods and map to map them back to the instance
-            for (Map.Entry<Object, Map<Method, IWrappedCaller>> entry : listenerMethods.entrySet()) {
-                for (Map.Entry<Method, IWrappedCaller> methods : entry.getValue().entrySet()) {
-                    allMethods.add(new Tuple<>(methods.getKey(), methods.getValue()));
-                }
-            }
-            allMethods.sort((o1, o2) -> { //Sort all methods by priority
-                EventTarget o1target = o1.getA().getDeclaredAnnotation(EventTarget.class);
-                EventTarget o2target = o2.getA().getDeclaredAnnotation(EventTarget.class);
-                return o2target.priority().compareTo(o1target.priority());
-            });
-        }
-
-        ClassNode pipelineNode = new ClassNode();
-        pipelineNode.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, "net/lenni0451/asmevents/" + eventType.getSimpleName() + "Pipeline" + System.nanoTime(), null, "java/lang/Object", new String[]{IEventPipeline.class.getName().replace(".", "/")});
-        pipelineNode.sourceFile = eventType.getName() + " Pipeline"; //This shows when an exception is printed. Some nice to have debug details
-        pipelineNode.sourceDebug = "ASMEvents by Lenni0451"; //Some credits for me :)
-        ASMUtils.addDefaultConstructor(pipelineNode);
-
-        if (pipelineSafety != null && pipelineSafety.value().equals(EnumPipelineSafety.ERROR_LISTENER)) { //Add the errorListener field if needed
-            needsListener = true;
-            pipelineNode.visitField(Opcodes.ACC_PUBLIC, "errorListener", Type.getDescriptor(IErrorListener.class), null, null);
-        } else needsListener = false;
-        for (int i = 0; i < allMethods.size(); i++) {
-            pipelineNode.visitField(Opcodes.ACC_PUBLIC, "listener" + i, Type.getDescriptor(IWrappedCaller.class), null, null);
-        }
-        { //Insert call method and all listener calls
-            MethodVisitor visitor = pipelineNode.visitMethod(Opcodes.ACC_PUBLIC, ReflectUtils.getMethodByArgs(IEventPipeline.class, IEvent.class).getName(), "(" + Type.getDescriptor(IEvent.class) + ")V", null, new String[]{"java/lang/Throwable"});
-            if (ICancellableEvent.class.isAssignableFrom(eventType)) { //Cast an IEvent implementation to a ICancellableEvent if it can be cancelled and store it
-                visitor.visitVarInsn(Opcodes.ALOAD, 1);
-                visitor.visitTypeInsn(Opcodes.CHECKCAST, ICancellableEvent.class.getName().replace(".", "/"));
-                visitor.visitVarInsn(Opcodes.ASTORE, 2);
-            }
-            if (ITypedEvent.class.isAssignableFrom(eventType)) { //Cast an IEvent implementation to a ITypedEvent if it is typed and store it
-                visitor.visitVarInsn(Opcodes.ALOAD, 1);
-                visitor.visitTypeInsn(Opcodes.CHECKCAST, ITypedEvent.class.getName().replace(".", "/"));
-                visitor.visitVarInsn(Opcodes.ASTORE, 3);
-            }
-            for (int i = 0; i < allMethods.size(); i++) {
-                Tuple<Method, IWrappedCaller> method = allMethods.get(i);
-                final EventTarget eventTarget = method.getA().getDeclaredAnnotation(EventTarget.class);
-                Label jumpAfter = null;
-                Label endBlock = null;
-                Label catchBlock = null;
-                if (pipelineSafety != null) {
-                    final Label tryBlock = new Label();
-                    endBlock = new Label();
-                    catchBlock = new Label();
-
-                    visitor.visitTryCatchBlock(tryBlock, endBlock, catchBlock, "java/lang/Throwable");
-                    visitor.visitLabel(tryBlock);
-                }
-
-                if (IStoppableEvent.class.isAssignableFrom(eventType)) { //Check if the stoppable event is stopped and return if so
-                    final Label skipReturn = new Label();
-
-                    visitor.visitVarInsn(Opcodes.ALOAD, 2);
-                    visitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, ICancellableEvent.class.getName().replace(".", "/"), ReflectUtils.getMethodByArgs(ICancellableEvent.class).getName(), "()Z", true);
-                    visitor.visitJumpInsn(Opcodes.IFEQ, skipReturn);
-                    visitor.visitInsn(Opcodes.RETURN);
-                    visitor.visitLabel(skipReturn);
-                } else if (ICancellableEvent.class.isAssignableFrom(eventType) && eventTarget.skipCancelled()) { //Check if a cancellable event is cancelled and we do not want to listen for it
-                    if (jumpAfter == null) jumpAfter = new Label();
-
-                    visitor.visitVarInsn(Opcodes.ALOAD, 2);
-                    visitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, ICancellableEvent.class.getName().replace(".", "/"), ReflectUtils.getMethodByArgs(ICancellableEvent.class).getName(), "()Z", true);
-                    visitor.visitJumpInsn(Opcodes.IFNE, jumpAfter);
-                }
-                if (ITypedEvent.class.isAssignableFrom(eventType) && !eventTarget.type().equals(EnumEventType.ALL)) { //Check if the type of a typed event is the wanted type
-                    if (jumpAfter == null) jumpAfter = new Label();
-
-                    visitor.visitVarInsn(Opcodes.ALOAD, 3);
-                    visitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, ITypedEvent.class.getName().replace(".", "/"), ReflectUtils.getMethodByArgs(ITypedEvent.class).getName(), "()" + Type.getDescriptor(EnumEventType.class), true);
-                    visitor.visitFieldInsn(Opcodes.GETSTATIC, EnumEventType.class.getName().replace(".", "/"), ReflectUtils.getEnumField(eventTarget.type()).getName(), Type.getDescriptor(EnumEventType.class));
-                    visitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/Enum", "equals", "(Ljava/lang/Object;)Z", false);
-                    visitor.visitJumpInsn(Opcodes.IFEQ, jumpAfter);
-                }
-                {
-                    visitor.visitVarInsn(Opcodes.ALOAD, 0);
-                    visitor.visitFieldInsn(Opcodes.GETFIELD, pipelineNode.name, "listener" + i, Type.getDescriptor(IWrappedCaller.class));
-                    visitor.visitVarInsn(Opcodes.ALOAD, 1);
-                    //And finally actually call the listener method
-                    Method m = ReflectUtils.getMethodByArgs(IWrappedCaller.class, IEvent.class);
-                    visitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, IWrappedCaller.class.getName().replace(".", "/"), m.getName(), Type.getMethodDescriptor(m), true);
-                }
-                if (pipelineSafety != null) {
-                    if (jumpAfter == null) jumpAfter = new Label();
-                    visitor.visitLabel(endBlock);
-                    visitor.visitJumpInsn(Opcodes.GOTO, jumpAfter);
-                    visitor.visitLabel(catchBlock);
-                    switch (pipelineSafety.value()) {
-                        case PRINT: //Print the exception
-                            visitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/Throwable", "printStackTrace", "()V", false);
-                            break;
-                        case ERROR_LISTENER: //Call the error listener
-                            visitor.visitVarInsn(Opcodes.ALOAD, 0);
-                            visitor.visitFieldInsn(Opcodes.GETFIELD, pipelineNode.name, "errorListener", Type.getDescriptor(IErrorListener.class));
-                            visitor.visitInsn(Opcodes.SWAP);
-                            final Method onExceptionMethod = ReflectUtils.getMethodByArgs(IErrorListener.class, Throwable.class);
-                            visitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, IErrorListener.class.getName().replace(".", "/"), onExceptionMethod.getName(), Type.getMethodDescriptor(onExceptionMethod), true);
-                            break;
-                        case IGNORE: //Pop the exception of the stack
-                            visitor.visitInsn(Opcodes.POP);
-                    }
-                }
-                if (jumpAfter != null) visitor.visitLabel(jumpAfter);
-            }
-            visitor.visitInsn(Opcodes.RETURN);
-            visitor.visitEnd();
-        }
-        { //Insert setFields method
-            MethodVisitor visitor = pipelineNode.visitMethod(Opcodes.ACC_PUBLIC, ReflectUtils.getMethodByArgs(IEventPipeline.class, IErrorListener.class, List.class).getName(), "(" + Type.getDescriptor(IErrorListener.class) + Type.getDescriptor(List.class) + ")V", null, null);
-            if (needsListener) {
-                visitor.visitVarInsn(Opcodes.ALOAD, 0);
-                visitor.visitVarInsn(Opcodes.ALOAD, 1);
-                visitor.visitFieldInsn(Opcodes.PUTFIELD, pipelineNode.name, "errorListener", Type.getDescriptor(IErrorListener.class));
-            }
-            for (int i = 0; i < allMethods.size(); i++) {
-                visitor.visitVarInsn(Opcodes.ALOAD, 0);
-                visitor.visitVarInsn(Opcodes.ALOAD, 2);
-                visitor.visitIntInsn(Opcodes.SIPUSH, i);
-                visitor.visitMethodInsn(Opcodes.INVOKEINTERFACE, List.class.getName().replace(".", "/"), "get", "(I)Ljava/lang/Object;", true);
-                visitor.visitFieldInsn(Opcodes.PUTFIELD, pipelineNode.name, "listener" + i, Type.getDescriptor(IWrappedCaller.class));
-            }
-            visitor.visitInsn(Opcodes.RETURN);
-            visitor.visitEnd();
-        }
-
-        try {
-            //Load the pipeline class
-            Class<? extends IEventPipeline> pipelineClass = ClassDefiner.define(EventManager.class, pipelineNode.name.replace("/", "."), ASMUtils.toBytes(pipelineNode));
-
-            //Create an instance of the loaded pipeline class
-            IEventPipeline pipeline = (IEventPipeline) pipelineClass.getDeclaredConstructors()[0].newInstance();
-            //Set all caller fields and if needed the error listener
-            List<IWrappedCaller> allCaller = new ArrayList<>();
-            for (Tuple<Method, IWrappedCaller> type : allMethods) allCaller.add(type.getB());
-            pipeline.setFields(ERROR_LISTENER, allCaller);
-            EVENT_PIPELINES.put(eventType, pipeline);
-        } catch (Throwable t) {
-            ERROR_LISTENER.onException(t);
-        }
+    public static void setMetrics(final boolean metrics) {
+        EVENT_BUS.setMetrics(metrics);
     }
 
     /**
-     * Generate a call wrapper using the class loader of the listener<br>
-     * This fixes ClassLoader problems because the event listener is always executed from a class loaded with the same loader
+     * Get a snapshot of the metrics of all listener methods which were part of a pipeline while metrics were enabled<br>
+     * Listener methods are listed once per called event class
      *
-     * @param listener The listener instance or class if static
+     * @return The snapshots of all listener metrics
      */
-    private static IWrappedCaller wrap(final Object listener, final Method method, final Class<? extends IEvent> eventType) {
-        final boolean isStatic = listener instanceof Class;
-        final Class<?> listenerClass = isStatic ? (Class<?>) listener : listener.getClass();
-
-        ClassNode node = new ClassNode();
-        node.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, "net/lenni0451/asmevents/Wrapper" + System.nanoTime(), null, "java/lang/Object", new String[]{IWrappedCaller.class.getName().replace(".", "/")});
-        if (!isStatic) {
-            node.visitField(Opcodes.ACC_PUBLIC, "listener", Type.getDescriptor(listenerClass), null, null);
-        }
-        { //Default constructor
-            MethodVisitor mv = node.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
-            mv.visitVarInsn(Opcodes.ALOAD, 0);
-            mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
-            mv.visitInsn(Opcodes.RETURN);
-        }
-        {
-            MethodVisitor mv = node.visitMethod(Opcodes.ACC_PUBLIC, ReflectUtils.getMethodByArgs(IWrappedCaller.class, IEvent.class).getName(), "(" + Type.getDescriptor(IEvent.class) + ")V", null, null);
-            if (!isStatic) {
-                mv.visitVarInsn(Opcodes.ALOAD, 0);
-                mv.visitFieldInsn(Opcodes.GETFIELD, node.name, "listener", Type.getDescriptor(listenerClass));
-            }
-            for (Class<?> param : method.getParameterTypes()) { //Load all method parameter or load null if it is not the current event
-                if (param.equals(eventType)) {
-                    mv.visitVarInsn(Opcodes.ALOAD, 1);
-                    mv.visitTypeInsn(Opcodes.CHECKCAST, eventType.getName().replace(".", "/"));
-                } else if (param.equals(IEvent.class)) {
-                    mv.visitVarInsn(Opcodes.ALOAD, 1);
-                } else {
-                    ASMUtils.generateNullValue(mv, param);
-                }
-            }
-            if (isStatic) {
-                mv.visitMethodInsn(Opcodes.INVOKESTATIC, listenerClass.getName().replace(".", "/"), method.getName(), Type.getMethodDescriptor(method), false);
-            } else {
-                mv.visitMethodInsn(method.getDeclaringClass().isInterface() ? Opcodes.INVOKEINTERFACE : Opcodes.INVOKEVIRTUAL, listenerClass.getName().replace(".", "/"), method.getName(), Type.getMethodDescriptor(method), method.getDeclaringClass().isInterface());
-            }
-            mv.visitInsn(Opcodes.RETURN);
-        }
-        try {
-            Object ob = ClassDefiner.define(listenerClass, node.name.replace("/", "."), ASMUtils.toBytes(node)).newInstance();
-            if (!isStatic) ob.getClass().getDeclaredFields()[0].set(ob, listener);
-            return (IWrappedCaller) ob;
-        } catch (Throwable t) {
-            ERROR_LISTENER.onException(t);
-        }
-        return null;
+    public static List<ListenerMetricsSnapshot> getMetrics() {
+        return EVENT_BUS.getMetrics();
     }
 
+    /**
+     * Reset the metrics of all listener methods
+     */
+    public static void resetMetrics() {
+        EVENT_BUS.resetMetrics();
+    }
+
+    /**
+     * Set the amount of calls after which an event pipeline is generated<br>
+     * Until then the listener are called through method handles which is slower but does not need any class to be generated<br>
+     * Pipelines fall back to method handles every time their listeners change<br>
+     * This keeps registering listener of rarely called events cheap while often called events still get a generated pipeline<br>
+     * The pipeline is generated on the thread which reaches the threshold<br>
+     * By default (0) pipelines are always generated right away
+     *
+     * @param compileThreshold The amount of calls or 0 to always generate pipelines
+     */
+    public static void setCompileThreshold(final int compileThreshold) {
+        EVENT_BUS.setCompileThreshold(compileThreshold);
+    }
+
+    /**
+     * Enable or disable lazy pipelines<br>
+     * If enabled registering and unregistering listeners only discards the affected pipelines<br>
+     * The pipeline of an event class is then generated on its first call or when it is warmed using {@link #warm(Class[])}<br>
+     * Calls of an already generated pipeline are not slower than without lazy pipelines
+     *
+     * @param lazyPipelines If pipelines should be generated on their first call
+     */
+    public static void setLazyPipelines(final boolean lazyPipelines) {
+        EVENT_BUS.setLazyPipelines(lazyPipelines);
+    }
+
+    /**
+     * Set the directory used to cache generated classes between restarts<br>
+     * The cache is only used for listener and event classes which can be read from their class loader<br>
+     * Already generated pipelines and wrappers are not affected
+     *
+     * @param directory The cache directory or null to disable the cache
+     * @throws IOException If the cache could not be opened
+     */
+    public static void setCacheDirectory(final File directory) throws IOException {
+        EVENT_BUS.setCacheDirectory(directory);
+    }
+
+    /**
+     * Enable or disable direct invocation of listener methods<br>
+     * If enabled pipelines call visible public listener methods directly instead of going through a generated wrapper<br>
+     * Listener which can not be seen by the pipeline always fall back to the wrapper<br>
+     * Already generated pipelines are only affected after they have been rebuilt
+     *
+     * @param directInvocation If listener methods should be called directly
+     */
+    public static void setDirectInvocation(final boolean directInvocation) {
+        EVENT_BUS.setDirectInvocation(directInvocation);
+    }
+
+    /**
+     * Set the pool listener with {@link net.lenni0451.asmevents.event.EventTarget#parallel()} are called on<br>
+     * By default the {@link ForkJoinPool#commonPool()} is used<br>
+     * Already generated pipelines are only affected after they have been rebuilt
+     *
+     * @param parallelPool The pool
+     */
+    public static void setParallelPool(final ForkJoinPool parallelPool) {
+        EVENT_BUS.setParallelPool(parallelPool);
+    }
 
     /**
      * Set the handler of unhandled exceptions<br>
@@ -391,9 +326,7 @@ public class EventManager {
      * @param errorListener The listener
      */
     public static void setErrorListener(final IErrorListener errorListener) {
-        Objects.requireNonNull(errorListener);
-
-        ERROR_LISTENER = errorListener;
+        EVENT_BUS.setErrorListener(errorListener);
     }
 
 }
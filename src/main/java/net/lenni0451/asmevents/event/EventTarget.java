@@ -32,4 +32,26 @@ public @interface EventTarget {
      */
     Class<? extends IEvent>[] noParamEvents() default {};
 
+    /**
+     * The name of a boolean method in the listener class which decides if the listener should be called<br>
+     * The guard can have no parameter or a single parameter the event can be passed to and must be static for static listener<br>
+     * Instance guards can compare the event with fields of the listener, e.g. {@code return event.getWorld() == this.world;}<br>
+     * The pipeline calls the guard before the listener and skips the listener if it returns false<br>
+     * Public guards are called directly, all other guards (e.g. private ones) are called through a method handle
+     */
+    String guard() default "";
+
+    /**
+     * The keys of {@link net.lenni0451.asmevents.event.types.IKeyedEvent}s which should be handled by the method<br>
+     * If empty the method handles all keys
+     */
+    int[] keys() default {};
+
+    /**
+     * If the method should be called at the same time as the other parallel listener of the same priority<br>
+     * Parallel listener are called on the {@link java.util.concurrent.ForkJoinPool} of the event bus after the other listener of the priority and are joined before the next priority<br>
+     * Interpreted and generated pipelines both call them in parallel. Only use this for independent and thread safe listener
+     */
+    boolean parallel() default false;
+
 }
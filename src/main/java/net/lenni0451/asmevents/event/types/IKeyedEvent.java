@@ -0,0 +1,13 @@
+package net.lenni0451.asmevents.event.types;
+
+import net.lenni0451.asmevents.event.IEvent;
+
+/**
+ * Keyed events are only passed to listener which are registered for their key or for all keys<br>
+ * The pipeline reads the key once and jumps directly to the matching listener using a switch
+ */
+public interface IKeyedEvent extends IEvent {
+
+    int getKey();
+
+}
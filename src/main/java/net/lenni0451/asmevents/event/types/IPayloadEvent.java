@@ -0,0 +1,11 @@
+package net.lenni0451.asmevents.event.types;
+
+import net.lenni0451.asmevents.event.IEvent;
+
+/**
+ * Payload events are interfaces with a single void method whose parameters are the payload of the event<br>
+ * They are called through the invoker returned by {@link net.lenni0451.asmevents.EventBus#getInvoker(Class)} without creating an event object or boxing primitives<br>
+ * Listener are registered using {@code @EventTarget(noParamEvents = ...)} and take exactly the parameters of the event method
+ */
+public interface IPayloadEvent extends IEvent {
+}
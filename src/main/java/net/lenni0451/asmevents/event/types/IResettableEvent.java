@@ -0,0 +1,17 @@
+package net.lenni0451.asmevents.event.types;
+
+import net.lenni0451.asmevents.event.IEvent;
+
+/**
+ * Resettable events can be reused for multiple calls, e.g. using an {@link net.lenni0451.asmevents.pool.EventPool}<br>
+ * Listener must not keep a reference to a reusable event after the call returned
+ */
+public interface IResettableEvent extends IEvent {
+
+    /**
+     * Restore the state the event had after it was created<br>
+     * Subclasses with own fields have to override this and call the super method
+     */
+    void reset();
+
+}
@@ -1,8 +1,9 @@
 package net.lenni0451.asmevents.event.wrapper;
 
 import net.lenni0451.asmevents.event.types.ICancellableEvent;
+import net.lenni0451.asmevents.event.types.IResettableEvent;
 
-public class CancellableEvent implements ICancellableEvent {
+public class CancellableEvent implements ICancellableEvent, IResettableEvent {
 
     private boolean cancelled = false;
 
@@ -16,4 +17,9 @@ public class CancellableEvent implements ICancellableEvent {
         this.cancelled = cancelled;
     }
 
+    @Override
+    public void reset() {
+        this.cancelled = false;
+    }
+
 }
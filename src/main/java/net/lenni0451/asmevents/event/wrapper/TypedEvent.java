@@ -2,13 +2,16 @@ package net.lenni0451.asmevents.event.wrapper;
 
 import net.lenni0451.asmevents.event.IEvent;
 import net.lenni0451.asmevents.event.enums.EnumEventType;
+import net.lenni0451.asmevents.event.types.IResettableEvent;
 import net.lenni0451.asmevents.event.types.ITypedEvent;
 
-public class TypedEvent implements IEvent, ITypedEvent {
+public class TypedEvent implements IEvent, ITypedEvent, IResettableEvent {
 
-    private final EnumEventType type;
+    private final EnumEventType initialType;
+    private EnumEventType type;
 
     public TypedEvent(final EnumEventType type) {
+        this.initialType = type;
         this.type = type;
     }
 
@@ -17,4 +20,18 @@ public class TypedEvent implements IEvent, ITypedEvent {
         return this.type;
     }
 
+    /**
+     * Change the type of a reused event, e.g. to call the same instance as {@code PRE} and {@code POST}
+     *
+     * @param type The new type
+     */
+    public void setType(final EnumEventType type) {
+        this.type = type;
+    }
+
+    @Override
+    public void reset() {
+        this.type = this.initialType;
+    }
+
 }
@@ -0,0 +1,29 @@
+package net.lenni0451.asmevents.internal;
+
+import net.lenni0451.asmevents.IErrorListener;
+import net.lenni0451.asmevents.event.IEvent;
+
+import java.util.List;
+
+/**
+ * The pipeline of all event classes without any listener
+ */
+public class EmptyEventPipeline implements IEventPipeline {
+
+    @Override
+    public void call(IEvent event) {
+    }
+
+    @Override
+    public void callAll(IEvent[] events, IErrorListener errorListener) {
+    }
+
+    @Override
+    public void setFields(IErrorListener errorListener, List callers) {
+    }
+
+    @Override
+    public void setNext(IEventPipeline next) {
+    }
+
+}
@@ -0,0 +1,73 @@
+package net.lenni0451.asmevents.internal;
+
+import net.lenni0451.asmevents.IErrorListener;
+import net.lenni0451.asmevents.event.enums.EnumEventPriority;
+
+import java.util.List;
+
+/**
+ * The current pipeline of an event class and the generated priority segments it consists of<br>
+ * The segments are linked using {@link IEventPipeline#setNext(IEventPipeline)}, the highest priority segment is the head of the pipeline<br>
+ * Segments with many listener consist of multiple chunks which are linked the same way<br>
+ * Segments are only accessed while holding the lock of the holder
+ */
+public class EventPipelineHolder {
+
+    private volatile IEventPipeline pipeline;
+    private final List<ListenerMethod>[] segmentListeners = new List[EnumEventPriority.values().length];
+    private final IEventPipeline[][] segments = new IEventPipeline[EnumEventPriority.values().length][];
+    private IErrorListener errorListener;
+    private boolean directInvocation;
+    private boolean metrics;
+
+    /**
+     * @return The current pipeline or null if it has not been created yet
+     */
+    public IEventPipeline get() {
+        return this.pipeline;
+    }
+
+    public void set(final IEventPipeline pipeline) {
+        this.pipeline = pipeline;
+    }
+
+    /**
+     * @param priority The priority of the segment
+     * @return The listener the segment was generated for or null if there is no segment
+     */
+    public List<ListenerMethod> getSegmentListeners(final EnumEventPriority priority) {
+        return this.segmentListeners[priority.ordinal()];
+    }
+
+    /**
+     * @param priority The priority of the segment
+     * @return The generated chunks of the segment or null if there is no segment
+     */
+    public IEventPipeline[] getSegment(final EnumEventPriority priority) {
+        return this.segments[priority.ordinal()];
+    }
+
+    public void setSegment(final EnumEventPriority priority, final List<ListenerMethod> listeners, final IEventPipeline[] segment) {
+        this.segmentListeners[priority.ordinal()] = listeners;
+        this.segments[priority.ordinal()] = segment;
+    }
+
+    /**
+     * Check if the segments were generated with the given settings<br>
+     * If not all segments are removed and the new settings are stored
+     *
+     * @return If the existing segments can be reused
+     */
+    public boolean updateSettings(final IErrorListener errorListener, final boolean directInvocation, final boolean metrics) {
+        if (this.errorListener == errorListener && this.directInvocation == directInvocation && this.metrics == metrics) return true;
+        for (int i = 0; i < this.segments.length; i++) {
+            this.segmentListeners[i] = null;
+            this.segments[i] = null;
+        }
+        this.errorListener = errorListener;
+        this.directInvocation = directInvocation;
+        this.metrics = metrics;
+        return false;
+    }
+
+}
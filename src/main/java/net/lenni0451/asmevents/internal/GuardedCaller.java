@@ -0,0 +1,45 @@
+package net.lenni0451.asmevents.internal;
+
+import net.lenni0451.asmevents.event.IEvent;
+import net.lenni0451.asmevents.utils.ReflectUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.ref.WeakReference;
+
+/**
+ * Caller which checks the guard of a listener through a method handle before the wrapped listener is called<br>
+ * Used for guards which can not be invoked from a generated wrapper (e.g. private guards)
+ */
+public class GuardedCaller implements IWrappedCaller {
+
+    private final MethodHandle guard;
+    private final Object listener;
+    private final WeakReference<Object> reference;
+    private final IWrappedCaller caller;
+
+    /**
+     * @param guard     The guard handle with the type {@code (Object, IEvent)boolean} which gets the listener instance and the event
+     * @param listener  The class for static or the instance for non static listener or null for weak listener
+     * @param reference The weak reference to the listener or null for strong listener
+     * @param caller    The wrapper of the listener without the guard check
+     */
+    public GuardedCaller(final MethodHandle guard, final Object listener, final WeakReference<Object> reference, final IWrappedCaller caller) {
+        this.guard = guard;
+        this.listener = listener;
+        this.reference = reference;
+        this.caller = caller;
+    }
+
+    @Override
+    public void call(final IEvent event) {
+        final Object listener = this.reference == null ? this.listener : this.reference.get();
+        if (listener == null) return; //The weak listener has been collected
+        try {
+            if (!(boolean) this.guard.invokeExact(listener, event)) return;
+        } catch (Throwable t) {
+            throw ReflectUtils.<RuntimeException>sneakyThrow(t);
+        }
+        this.caller.call(event);
+    }
+
+}
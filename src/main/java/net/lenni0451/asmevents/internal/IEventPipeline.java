@@ -8,6 +8,8 @@ import java.util.List;
 public interface IEventPipeline {
 
     void call(IEvent event);
+    void callAll(IEvent[] events, IErrorListener errorListener);
     void setFields(IErrorListener errorListener, List callers);
+    void setNext(IEventPipeline next);
 
 }
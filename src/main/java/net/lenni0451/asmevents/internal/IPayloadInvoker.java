@@ -0,0 +1,15 @@
+package net.lenni0451.asmevents.internal;
+
+import net.lenni0451.asmevents.IErrorListener;
+
+import java.util.List;
+
+/**
+ * Generated classes implementing a payload event interface<br>
+ * The invoker returned to the caller delegates to the current pipeline, which is replaced every time the listener change
+ */
+public interface IPayloadInvoker {
+
+    void setFields(IErrorListener errorListener, List fields);
+
+}
@@ -0,0 +1,149 @@
+package net.lenni0451.asmevents.internal;
+
+import net.lenni0451.asmevents.IErrorListener;
+import net.lenni0451.asmevents.event.EnumPipelineSafety;
+import net.lenni0451.asmevents.event.EventTarget;
+import net.lenni0451.asmevents.event.IEvent;
+import net.lenni0451.asmevents.event.PipelineSafety;
+import net.lenni0451.asmevents.event.enums.EnumEventType;
+import net.lenni0451.asmevents.event.types.ICancellableEvent;
+import net.lenni0451.asmevents.event.types.IKeyedEvent;
+import net.lenni0451.asmevents.event.types.IStoppableEvent;
+import net.lenni0451.asmevents.event.types.ITypedEvent;
+import net.lenni0451.asmevents.metrics.ListenerMetrics;
+import net.lenni0451.asmevents.utils.ReflectUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Pipeline which calls the sequential listener through method handles without generating a class<br>
+ * Together with the {@link ParallelEventPipeline} parts linked after it, it behaves like a generated pipeline but is slower to call and much cheaper to create<br>
+ * After the compile threshold is reached the head of the pipeline requests to be replaced by a generated one
+ */
+public class InterpretedEventPipeline implements IEventPipeline {
+
+    private final EventTarget[] eventTargets;
+    private final int[][] keys;
+    private final MethodHandle[] handles;
+    private final ListenerMetrics[] metrics;
+    private final boolean cancellable;
+    private final boolean stoppable;
+    private final boolean typed;
+    private final boolean keyed;
+    private final EnumPipelineSafety pipelineSafety;
+    private final IErrorListener errorListener;
+    private final int compileThreshold;
+    private final Consumer<IEventPipeline> compiler;
+    /**
+     * Not synchronized as the compile threshold does not have to be exact
+     */
+    private int calls;
+    private boolean compileRequested;
+    private volatile IEventPipeline next;
+
+    /**
+     * @param eventType        The event class of the pipeline
+     * @param listeners        The sorted listener of the pipeline
+     * @param handles          The handles of the listener with the type {@code (IEvent)void}
+     * @param metrics          The metrics of the listener or null if metrics are disabled
+     * @param errorListener    The error listener used for {@link EnumPipelineSafety#ERROR_LISTENER}
+     * @param compileThreshold The amount of calls after which the pipeline should be compiled
+     * @param compiler         The callback which replaces this pipeline with a generated one or null if this is not the head of the pipeline
+     */
+    public InterpretedEventPipeline(final Class<? extends IEvent> eventType, final List<ListenerMethod> listeners, final MethodHandle[] handles, final ListenerMetrics[] metrics, final IErrorListener errorListener, final int compileThreshold, final Consumer<IEventPipeline> compiler) {
+        final PipelineSafety pipelineSafety = eventType.getDeclaredAnnotation(PipelineSafety.class);
+
+        this.eventTargets = new EventTarget[listeners.size()];
+        for (int i = 0; i < this.eventTargets.length; i++) this.eventTargets[i] = listeners.get(i).getEventTarget();
+        this.keys = new int[listeners.size()][];
+        for (int i = 0; i < this.keys.length; i++) this.keys[i] = listeners.get(i).getKeys();
+        this.handles = handles;
+        this.metrics = metrics;
+        this.cancellable = ICancellableEvent.class.isAssignableFrom(eventType);
+        this.stoppable = IStoppableEvent.class.isAssignableFrom(eventType);
+        this.typed = ITypedEvent.class.isAssignableFrom(eventType);
+        this.keyed = IKeyedEvent.class.isAssignableFrom(eventType);
+        this.pipelineSafety = pipelineSafety == null ? null : pipelineSafety.value();
+        this.errorListener = errorListener;
+        this.compileThreshold = compileThreshold;
+        this.compiler = compiler;
+    }
+
+    @Override
+    public void call(final IEvent event) {
+        if (this.compiler != null && ++this.calls >= this.compileThreshold && !this.compileRequested) {
+            this.compileRequested = true;
+            this.compiler.accept(this);
+        }
+        final EnumEventType type = this.typed ? ((ITypedEvent) event).getType() : null;
+        int cancelled = -1; //The cancelled state is only read again after a listener was called
+        for (int i = 0; i < this.handles.length; i++) {
+            final EventTarget eventTarget = this.eventTargets[i];
+            try {
+                if (this.typed && eventTarget.type() != EnumEventType.ALL && eventTarget.type() != type) continue;
+                if (this.stoppable || (this.cancellable && eventTarget.skipCancelled())) {
+                    if (cancelled == -1) cancelled = ((ICancellableEvent) event).isCancelled() ? 1 : 0;
+                    if (cancelled == 1) {
+                        if (this.stoppable) return; //Return if the stoppable event is stopped
+                        continue;
+                    }
+                }
+                if (this.keyed && this.keys[i].length != 0 && Arrays.binarySearch(this.keys[i], ((IKeyedEvent) event).getKey()) < 0) continue;
+
+                //The handle also calls the guard of the listener which may change the cancelled state too
+                cancelled = -1;
+                if (this.metrics == null) this.handles[i].invokeExact(event);
+                else this.callWithMetrics(i, event);
+            } catch (Throwable t) {
+                if (this.pipelineSafety == null) throw ReflectUtils.<RuntimeException>sneakyThrow(t);
+                switch (this.pipelineSafety) {
+                    case PRINT:
+                        t.printStackTrace();
+                        break;
+                    case ERROR_LISTENER:
+                        this.errorListener.onException(t);
+                        break;
+                    case IGNORE:
+                        break;
+                }
+            }
+        }
+        final IEventPipeline next = this.next;
+        if (next != null) next.call(event);
+    }
+
+    private void callWithMetrics(final int index, final IEvent event) throws Throwable {
+        final long start = System.nanoTime();
+        try {
+            this.handles[index].invokeExact(event);
+        } catch (Throwable t) {
+            this.metrics[index].recordException(System.nanoTime() - start);
+            throw t;
+        }
+        this.metrics[index].record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void callAll(final IEvent[] events, final IErrorListener errorListener) {
+        for (IEvent event : events) {
+            try {
+                this.call(event);
+            } catch (Throwable t) {
+                errorListener.onException(t);
+            }
+        }
+    }
+
+    @Override
+    public void setFields(final IErrorListener errorListener, final List callers) {
+    }
+
+    @Override
+    public void setNext(final IEventPipeline next) {
+        this.next = next;
+    }
+
+}
@@ -0,0 +1,189 @@
+package net.lenni0451.asmevents.internal;
+
+import net.lenni0451.asmevents.event.EventTarget;
+import net.lenni0451.asmevents.event.IEvent;
+import net.lenni0451.asmevents.event.enums.EnumEventPriority;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A single registered listener method together with the instance it is called on<br>
+ * Weak listener instances are only referenced through a {@link WeakReference} and can be garbage collected while registered
+ */
+public class ListenerMethod {
+
+    private static final AtomicLong REGISTRATIONS = new AtomicLong();
+
+    private final Class<? extends IEvent> eventType;
+    private final Object listener;
+    private final WeakReference<Object> reference;
+    private final Method method;
+    private final EventTarget eventTarget;
+    private final EnumEventPriority priority;
+    private final Method guard;
+    private final int[] keys;
+    private final long registrationIndex = REGISTRATIONS.getAndIncrement();
+    private volatile IWrappedCaller caller;
+    private volatile MethodHandle handle;
+
+    public ListenerMethod(final Class<? extends IEvent> eventType, final Object listener, final Method method) {
+        this(eventType, listener, method, null);
+    }
+
+    /**
+     * @param eventType The event type the method is registered for
+     * @param listener  The class for static or the instance for non static listener
+     * @param method    The listener method
+     * @param queue     The queue the weak reference to the listener is registered with or null to reference the listener strongly
+     */
+    public ListenerMethod(final Class<? extends IEvent> eventType, final Object listener, final Method method, final ReferenceQueue<Object> queue) {
+        this.eventType = eventType;
+        this.listener = queue == null ? listener : null;
+        this.reference = queue == null ? null : new WeakReference<>(listener, queue);
+        this.method = method;
+        this.eventTarget = method.getDeclaredAnnotation(EventTarget.class);
+        this.priority = this.eventTarget.priority();
+        this.guard = this.eventTarget.guard().isEmpty() ? null : findGuard(method, this.eventTarget.guard(), eventType);
+        this.keys = sortKeys(this.eventTarget.keys());
+    }
+
+    private static int[] sortKeys(final int[] keys) {
+        final int[] sorted = keys.clone();
+        Arrays.sort(sorted);
+        int length = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) sorted[length++] = sorted[i];
+        }
+        return Arrays.copyOf(sorted, length);
+    }
+
+    /**
+     * Find the guard method of a listener method<br>
+     * If the guard is overloaded the method taking exactly the event type is preferred
+     *
+     * @param method    The listener method
+     * @param name      The name of the guard method
+     * @param eventType The event type the listener method is registered for
+     * @return The guard method
+     * @throws IllegalArgumentException If there is no matching guard method
+     */
+    private static Method findGuard(final Method method, final String name, final Class<? extends IEvent> eventType) {
+        Method guard = null;
+        for (Method candidate : method.getDeclaringClass().getDeclaredMethods()) {
+            if (!candidate.getName().equals(name) || !boolean.class.equals(candidate.getReturnType())) continue;
+            if (!Modifier.isStatic(candidate.getModifiers()) && Modifier.isStatic(method.getModifiers())) continue;
+            final Class<?>[] parameters = candidate.getParameterTypes();
+            if (parameters.length > 1 || (parameters.length == 1 && !parameters[0].isAssignableFrom(eventType))) continue;
+
+            if (parameters.length == 1 && parameters[0].equals(eventType)) return candidate;
+            if (guard == null) guard = candidate;
+        }
+        if (guard == null) throw new IllegalArgumentException("Guard method " + name + " of " + method.getDeclaringClass().getName() + "#" + method.getName() + " not found for " + eventType.getName());
+        return guard;
+    }
+
+    /**
+     * @return The event type the method is registered for (may be a super class or interface of the called event)
+     */
+    public Class<? extends IEvent> getEventType() {
+        return this.eventType;
+    }
+
+    /**
+     * @return The class for static or the instance for non static listener or null if a weak listener has been collected
+     */
+    public Object getListener() {
+        return this.reference == null ? this.listener : this.reference.get();
+    }
+
+    /**
+     * @return If the listener instance is only weakly referenced
+     */
+    public boolean isWeak() {
+        return this.reference != null;
+    }
+
+    /**
+     * @return If the listener is weak and has already been garbage collected
+     */
+    public boolean isCollected() {
+        return this.reference != null && this.reference.get() == null;
+    }
+
+    /**
+     * @return A global counter value which orders listener by the time they were registered
+     */
+    public long getRegistrationIndex() {
+        return this.registrationIndex;
+    }
+
+    /**
+     * @return The weak reference to the listener or null if the listener is referenced strongly
+     */
+    public WeakReference<Object> getReference() {
+        return this.reference;
+    }
+
+    public Class<?> getListenerClass() {
+        return this.method.getDeclaringClass();
+    }
+
+    public Method getMethod() {
+        return this.method;
+    }
+
+    public EventTarget getEventTarget() {
+        return this.eventTarget;
+    }
+
+    public EnumEventPriority getPriority() {
+        return this.priority;
+    }
+
+    /**
+     * @return The sorted keys the listener is registered for or an empty array for all keys
+     */
+    public int[] getKeys() {
+        return this.keys;
+    }
+
+    /**
+     * @return The guard method which decides if the listener is called or null if there is none
+     */
+    public Method getGuard() {
+        return this.guard;
+    }
+
+    public boolean isStatic() {
+        return Modifier.isStatic(this.method.getModifiers());
+    }
+
+    /**
+     * @return The wrapped caller or null if it has not been generated yet
+     */
+    public IWrappedCaller getCaller() {
+        return this.caller;
+    }
+
+    public void setCaller(final IWrappedCaller caller) {
+        this.caller = caller;
+    }
+
+    /**
+     * @return The method handle used by interpreted pipelines or null if it has not been created yet
+     */
+    public MethodHandle getHandle() {
+        return this.handle;
+    }
+
+    public void setHandle(final MethodHandle handle) {
+        this.handle = handle;
+    }
+
+}
@@ -0,0 +1,177 @@
+package net.lenni0451.asmevents.internal;
+
+import net.lenni0451.asmevents.IErrorListener;
+import net.lenni0451.asmevents.event.EnumPipelineSafety;
+import net.lenni0451.asmevents.event.EventTarget;
+import net.lenni0451.asmevents.event.IEvent;
+import net.lenni0451.asmevents.event.PipelineSafety;
+import net.lenni0451.asmevents.event.enums.EnumEventType;
+import net.lenni0451.asmevents.event.types.ICancellableEvent;
+import net.lenni0451.asmevents.event.types.IKeyedEvent;
+import net.lenni0451.asmevents.event.types.IStoppableEvent;
+import net.lenni0451.asmevents.event.types.ITypedEvent;
+import net.lenni0451.asmevents.metrics.ListenerMetrics;
+import net.lenni0451.asmevents.utils.ReflectUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Pipeline part which calls all parallel listener of a priority at the same time using a {@link ForkJoinPool}<br>
+ * The calling thread runs one of the listener itself and waits for all others before the next part of the pipeline is called<br>
+ * The cancelled state, type and key are checked once before the listener are started, so parallel listener can not skip each other<br>
+ * All exceptions of the listener are combined into the first one (as suppressed exceptions) and handled like the exception of a single listener
+ */
+public class ParallelEventPipeline implements IEventPipeline {
+
+    private final EventTarget[] eventTargets;
+    private final int[][] keys;
+    private final MethodHandle[] handles;
+    private final ListenerMetrics[] metrics;
+    private final boolean cancellable;
+    private final boolean stoppable;
+    private final boolean typed;
+    private final boolean keyed;
+    private final EnumPipelineSafety pipelineSafety;
+    private final IErrorListener errorListener;
+    private final ForkJoinPool pool;
+    private volatile IEventPipeline next;
+
+    /**
+     * @param eventType     The event class of the pipeline
+     * @param listeners     The sorted parallel listener of a single priority
+     * @param handles       The handles of the listener with the type {@code (IEvent)void}
+     * @param metrics       The metrics of the listener or null if metrics are disabled
+     * @param errorListener The error listener used for {@link EnumPipelineSafety#ERROR_LISTENER}
+     * @param pool          The pool the listener are called on
+     */
+    public ParallelEventPipeline(final Class<? extends IEvent> eventType, final List<ListenerMethod> listeners, final MethodHandle[] handles, final ListenerMetrics[] metrics, final IErrorListener errorListener, final ForkJoinPool pool) {
+        final PipelineSafety pipelineSafety = eventType.getDeclaredAnnotation(PipelineSafety.class);
+
+        this.eventTargets = new EventTarget[listeners.size()];
+        for (int i = 0; i < this.eventTargets.length; i++) this.eventTargets[i] = listeners.get(i).getEventTarget();
+        this.keys = new int[listeners.size()][];
+        for (int i = 0; i < this.keys.length; i++) this.keys[i] = listeners.get(i).getKeys();
+        this.handles = handles;
+        this.metrics = metrics;
+        this.cancellable = ICancellableEvent.class.isAssignableFrom(eventType);
+        this.stoppable = IStoppableEvent.class.isAssignableFrom(eventType);
+        this.typed = ITypedEvent.class.isAssignableFrom(eventType);
+        this.keyed = IKeyedEvent.class.isAssignableFrom(eventType);
+        this.pipelineSafety = pipelineSafety == null ? null : pipelineSafety.value();
+        this.errorListener = errorListener;
+        this.pool = pool;
+    }
+
+    @Override
+    public void call(final IEvent event) {
+        final boolean cancelled = (this.cancellable || this.stoppable) && ((ICancellableEvent) event).isCancelled();
+        if (this.stoppable && cancelled) return;
+        final EnumEventType type = this.typed ? ((ITypedEvent) event).getType() : null;
+
+        final ListenerTask[] tasks = new ListenerTask[this.handles.length];
+        int taskCount = 0;
+        for (int i = 0; i < this.handles.length; i++) {
+            final EventTarget eventTarget = this.eventTargets[i];
+            if (this.cancellable && eventTarget.skipCancelled() && cancelled) continue;
+            if (this.typed && eventTarget.type() != EnumEventType.ALL && eventTarget.type() != type) continue;
+            if (this.keyed && this.keys[i].length != 0 && Arrays.binarySearch(this.keys[i], ((IKeyedEvent) event).getKey()) < 0) continue;
+            tasks[taskCount++] = new ListenerTask(this.handles[i], this.metrics == null ? null : this.metrics[i], event);
+        }
+
+        if (taskCount > 0) {
+            //Tasks are forked into the queue of the current worker if the caller already runs in the pool
+            final boolean inPool = ForkJoinTask.getPool() == this.pool;
+            for (int i = 1; i < taskCount; i++) {
+                if (inPool) tasks[i].fork();
+                else this.pool.execute(tasks[i]);
+            }
+            tasks[0].invoke();
+            Throwable exception = tasks[0].exception;
+            for (int i = 1; i < taskCount; i++) {
+                tasks[i].join();
+                final Throwable t = tasks[i].exception;
+                if (t == null) continue;
+                if (exception == null) exception = t;
+                else exception.addSuppressed(t);
+            }
+            if (exception != null) this.handleException(exception);
+        }
+
+        if (this.stoppable && ((ICancellableEvent) event).isCancelled()) return;
+        final IEventPipeline next = this.next;
+        if (next != null) next.call(event);
+    }
+
+    private void handleException(final Throwable t) {
+        if (this.pipelineSafety == null) throw ReflectUtils.<RuntimeException>sneakyThrow(t);
+        switch (this.pipelineSafety) {
+            case PRINT:
+                t.printStackTrace();
+                break;
+            case ERROR_LISTENER:
+                this.errorListener.onException(t);
+                break;
+            case IGNORE:
+                break;
+        }
+    }
+
+    @Override
+    public void callAll(final IEvent[] events, final IErrorListener errorListener) {
+        for (IEvent event : events) {
+            try {
+                this.call(event);
+            } catch (Throwable t) {
+                errorListener.onException(t);
+            }
+        }
+    }
+
+    @Override
+    public void setFields(final IErrorListener errorListener, final List callers) {
+    }
+
+    @Override
+    public void setNext(final IEventPipeline next) {
+        this.next = next;
+    }
+
+
+    private static class ListenerTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final MethodHandle handle;
+        private final ListenerMetrics metrics;
+        private final IEvent event;
+        /**
+         * Stored instead of thrown so {@link ForkJoinTask#join()} does not wrap the exception
+         */
+        private Throwable exception;
+
+        private ListenerTask(final MethodHandle handle, final ListenerMetrics metrics, final IEvent event) {
+            this.handle = handle;
+            this.metrics = metrics;
+            this.event = event;
+        }
+
+        @Override
+        protected void compute() {
+            final long start = this.metrics == null ? 0 : System.nanoTime();
+            try {
+                this.handle.invokeExact(this.event);
+                if (this.metrics != null) this.metrics.record(System.nanoTime() - start);
+            } catch (Throwable t) {
+                if (this.metrics != null) this.metrics.recordException(System.nanoTime() - start);
+                this.exception = t;
+            }
+        }
+
+    }
+
+}
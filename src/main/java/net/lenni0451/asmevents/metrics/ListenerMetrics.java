@@ -0,0 +1,66 @@
+package net.lenni0451.asmevents.metrics;
+
+import net.lenni0451.asmevents.event.IEvent;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The accumulated metrics of a listener method for one event class<br>
+ * Generated pipelines record every call directly into these striped counters so recording does not allocate or contend
+ */
+public class ListenerMetrics {
+
+    private final Class<? extends IEvent> eventType;
+    private final Method method;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder totalTime = new LongAdder();
+    private final LongAccumulator maxTime = new LongAccumulator(Math::max, 0);
+    private final LongAdder exceptions = new LongAdder();
+
+    public ListenerMetrics(final Class<? extends IEvent> eventType, final Method method) {
+        this.eventType = eventType;
+        this.method = method;
+    }
+
+    /**
+     * Record a successful call of the listener
+     *
+     * @param time The time the call took in nanoseconds
+     */
+    public void record(final long time) {
+        this.calls.increment();
+        this.totalTime.add(time);
+        this.maxTime.accumulate(time);
+    }
+
+    /**
+     * Record a call of the listener which threw an exception
+     *
+     * @param time The time the call took in nanoseconds
+     */
+    public void recordException(final long time) {
+        this.record(time);
+        this.exceptions.increment();
+    }
+
+    /**
+     * Reset all counters<br>
+     * Calls which are recorded at the same time may be partially lost
+     */
+    public void reset() {
+        this.calls.reset();
+        this.totalTime.reset();
+        this.maxTime.reset();
+        this.exceptions.reset();
+    }
+
+    /**
+     * @return An immutable copy of the current counters
+     */
+    public ListenerMetricsSnapshot snapshot() {
+        return new ListenerMetricsSnapshot(this.eventType, this.method, this.calls.sum(), this.totalTime.sum(), this.maxTime.get(), this.exceptions.sum());
+    }
+
+}
@@ -0,0 +1,69 @@
+package net.lenni0451.asmevents.metrics;
+
+import net.lenni0451.asmevents.event.IEvent;
+
+import java.lang.reflect.Method;
+
+/**
+ * The metrics of a listener method for one event class at the time the snapshot was taken<br>
+ * All times are in nanoseconds
+ */
+public class ListenerMetricsSnapshot {
+
+    private final Class<? extends IEvent> eventType;
+    private final Method method;
+    private final long calls;
+    private final long totalTime;
+    private final long maxTime;
+    private final long exceptions;
+
+    public ListenerMetricsSnapshot(final Class<? extends IEvent> eventType, final Method method, final long calls, final long totalTime, final long maxTime, final long exceptions) {
+        this.eventType = eventType;
+        this.method = method;
+        this.calls = calls;
+        this.totalTime = totalTime;
+        this.maxTime = maxTime;
+        this.exceptions = exceptions;
+    }
+
+    /**
+     * @return The called event class (not the event type the listener is registered for)
+     */
+    public Class<? extends IEvent> getEventType() {
+        return this.eventType;
+    }
+
+    public Method getMethod() {
+        return this.method;
+    }
+
+    /**
+     * @return The amount of calls including the ones which threw an exception
+     */
+    public long getCalls() {
+        return this.calls;
+    }
+
+    public long getTotalTime() {
+        return this.totalTime;
+    }
+
+    public long getMaxTime() {
+        return this.maxTime;
+    }
+
+    public long getAverageTime() {
+        return this.calls == 0 ? 0 : this.totalTime / this.calls;
+    }
+
+    public long getExceptions() {
+        return this.exceptions;
+    }
+
+    @Override
+    public String toString() {
+        return this.eventType.getSimpleName() + " -> " + this.method.getDeclaringClass().getSimpleName() + "#" + this.method.getName()
+                + " | calls: " + this.calls + " | total: " + this.totalTime + "ns | avg: " + this.getAverageTime() + "ns | max: " + this.maxTime + "ns | exceptions: " + this.exceptions;
+    }
+
+}
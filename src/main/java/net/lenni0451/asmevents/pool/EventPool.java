@@ -0,0 +1,95 @@
+package net.lenni0451.asmevents.pool;
+
+import net.lenni0451.asmevents.EventBus;
+import net.lenni0451.asmevents.event.types.IResettableEvent;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * A pool of reusable events owned by a single caller<br>
+ * Once the pool is filled acquiring and releasing events does not allocate, so hot events can be called without any allocation<br>
+ * The pool is not thread safe, use a {@link ThreadLocalEventPool} if events are called from multiple threads
+ *
+ * @param <T> The type of the pooled events
+ */
+public class EventPool<T extends IResettableEvent> {
+
+    private final Supplier<T> factory;
+    private final Object[] events;
+    private int size;
+    private EventBus retentionCheck;
+
+    /**
+     * Create a pool which keeps up to 16 unused events
+     *
+     * @param factory The factory used to create new events if the pool is empty
+     */
+    public EventPool(final Supplier<T> factory) {
+        this(factory, 16);
+    }
+
+    /**
+     * @param factory The factory used to create new events if the pool is empty
+     * @param maxSize The maximum amount of unused events kept in the pool
+     */
+    public EventPool(final Supplier<T> factory, final int maxSize) {
+        if (maxSize < 0) throw new IllegalArgumentException("The max size can not be negative");
+        this.factory = Objects.requireNonNull(factory);
+        this.events = new Object[maxSize];
+    }
+
+    /**
+     * Get an unused event from the pool or create a new one if the pool is empty
+     *
+     * @return The event in its initial state
+     */
+    public T acquire() {
+        if (this.size == 0) return this.factory.get();
+        final T event = (T) this.events[--this.size];
+        this.events[this.size] = null;
+        return event;
+    }
+
+    /**
+     * Reset an event after it has been called and return it to the pool<br>
+     * The event must not be used by the caller anymore
+     *
+     * @param event The event to release
+     */
+    public void release(final T event) {
+        Objects.requireNonNull(event);
+        if (isRetained(this.retentionCheck, event)) return;
+        event.reset();
+        if (this.size < this.events.length) this.events[this.size++] = event;
+    }
+
+    /**
+     * Debug mode which checks every released event for listener still referencing it<br>
+     * Retained events are reported to the error listener of the event bus and are not reused<br>
+     * This searches all listener fields on every release and should never be used in production
+     *
+     * @param eventBus The event bus whose listener are searched or null to disable the check
+     */
+    public void setRetentionCheck(final EventBus eventBus) {
+        this.retentionCheck = eventBus;
+    }
+
+    /**
+     * Check if any listener of the event bus still references a released event and report it to the error listener
+     *
+     * @param eventBus The event bus whose listener are searched or null if the check is disabled
+     * @param event    The released event
+     * @return If the event is retained and must not be reused
+     */
+    static boolean isRetained(final EventBus eventBus, final IResettableEvent event) {
+        if (eventBus == null) return false;
+        final List<String> retainers = eventBus.findRetainingListeners(event);
+        if (retainers.isEmpty()) return false;
+
+        eventBus.getErrorListener().onException(new IllegalStateException("Pooled event " + event.getClass().getName() + " is still referenced after the call by " + String.join(", ", retainers)));
+        return true;
+    }
+
+}
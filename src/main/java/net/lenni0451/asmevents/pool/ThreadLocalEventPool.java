@@ -0,0 +1,69 @@
+package net.lenni0451.asmevents.pool;
+
+import net.lenni0451.asmevents.EventBus;
+import net.lenni0451.asmevents.event.types.IResettableEvent;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * An {@link EventPool} for every thread<br>
+ * Events have to be released by the thread which acquired them
+ *
+ * @param <T> The type of the pooled events
+ */
+public class ThreadLocalEventPool<T extends IResettableEvent> {
+
+    private final ThreadLocal<EventPool<T>> pools;
+    private volatile EventBus retentionCheck;
+
+    /**
+     * Create a pool which keeps up to 16 unused events per thread
+     *
+     * @param factory The factory used to create new events if the pool of a thread is empty
+     */
+    public ThreadLocalEventPool(final Supplier<T> factory) {
+        this(factory, 16);
+    }
+
+    /**
+     * @param factory The factory used to create new events if the pool of a thread is empty
+     * @param maxSize The maximum amount of unused events kept per thread
+     */
+    public ThreadLocalEventPool(final Supplier<T> factory, final int maxSize) {
+        Objects.requireNonNull(factory);
+        this.pools = ThreadLocal.withInitial(() -> new EventPool<>(factory, maxSize));
+    }
+
+    /**
+     * Get an unused event from the pool of the current thread or create a new one if it is empty
+     *
+     * @return The event in its initial state
+     */
+    public T acquire() {
+        return this.pools.get().acquire();
+    }
+
+    /**
+     * Reset an event after it has been called and return it to the pool of the current thread<br>
+     * The event must not be used by the caller anymore
+     *
+     * @param event The event to release
+     */
+    public void release(final T event) {
+        final EventPool<T> pool = this.pools.get();
+        pool.setRetentionCheck(this.retentionCheck);
+        pool.release(event);
+    }
+
+    /**
+     * Debug mode which checks every released event for listener still referencing it<br>
+     * See {@link EventPool#setRetentionCheck(EventBus)}
+     *
+     * @param eventBus The event bus whose listener are searched or null to disable the check
+     */
+    public void setRetentionCheck(final EventBus eventBus) {
+        this.retentionCheck = eventBus;
+    }
+
+}
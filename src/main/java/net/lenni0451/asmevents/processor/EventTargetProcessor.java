@@ -0,0 +1,248 @@
+package net.lenni0451.asmevents.processor;
+
+import net.lenni0451.asmevents.utils.PregeneratedWrappers;
+import net.lenni0451.asmevents.utils.ReflectUtils;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Annotation processor which generates the call wrappers of all {@link net.lenni0451.asmevents.event.EventTarget} methods at compile time<br>
+ * The wrappers are picked up at runtime instead of generating them with ASM<br>
+ * Methods which can not be accessed from their package (e.g. private methods or methods in private classes) are skipped and still wrapped at runtime<br>
+ * Methods with a guard are skipped too as the guard is checked in the wrapper generated at runtime<br>
+ * <br>
+ * The processor is registered as a service and runs automatically if the library is on the annotation processor path
+ */
+@SupportedAnnotationTypes(EventTargetProcessor.EVENT_TARGET)
+public class EventTargetProcessor extends AbstractProcessor {
+
+    static final String EVENT_TARGET = "net.lenni0451.asmevents.event.EventTarget";
+    private static final String EVENT = "net.lenni0451.asmevents.event.IEvent";
+    private static final String WRAPPED_CALLER = "net.lenni0451.asmevents.internal.IWrappedCaller";
+
+    private final Set<String> generatedWrappers = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        final Elements elements = this.processingEnv.getElementUtils();
+        final TypeElement eventTarget = elements.getTypeElement(EVENT_TARGET);
+        final TypeElement event = elements.getTypeElement(EVENT);
+        if (eventTarget == null || event == null) return false;
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(eventTarget)) {
+            if (!ElementKind.METHOD.equals(element.getKind())) continue;
+            final ExecutableElement method = (ExecutableElement) element;
+            final TypeElement owner = (TypeElement) method.getEnclosingElement();
+            final PackageElement ownerPackage = elements.getPackageOf(owner);
+
+            if (!this.isAccessible(method, ownerPackage) || !this.isAccessible(owner.asType(), ownerPackage)) continue;
+            if (this.hasGuard(method, eventTarget)) continue; //Guards are generated at runtime
+            boolean accessible = true;
+            for (VariableElement parameter : method.getParameters()) accessible &= this.isAccessible(parameter.asType(), ownerPackage);
+            if (!accessible) continue;
+
+            for (TypeElement eventType : this.getEventTypes(method, eventTarget, event)) {
+                if (!this.isAccessible(eventType.asType(), ownerPackage)) continue;
+                try {
+                    this.generateWrapper(owner, ownerPackage, method, eventType, event);
+                } catch (IOException e) {
+                    this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to generate event wrapper: " + e, method);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get all event types a method is registered for<br>
+     * This matches the parameter and noParamEvents handling at runtime
+     */
+    private List<TypeElement> getEventTypes(final ExecutableElement method, final TypeElement eventTarget, final TypeElement event) {
+        final Types types = this.processingEnv.getTypeUtils();
+        final List<TypeElement> eventTypes = new ArrayList<>();
+        for (VariableElement parameter : method.getParameters()) {
+            final TypeMirror type = types.erasure(parameter.asType());
+            if (!TypeKind.DECLARED.equals(type.getKind())) continue;
+            if (!types.isAssignable(type, types.erasure(event.asType()))) continue;
+            eventTypes.add((TypeElement) ((DeclaredType) type).asElement());
+        }
+        for (AnnotationMirror annotation : method.getAnnotationMirrors()) {
+            if (!eventTarget.equals(annotation.getAnnotationType().asElement())) continue;
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+                if (!entry.getKey().getSimpleName().contentEquals("noParamEvents")) continue;
+                for (Object value : (List<?>) entry.getValue().getValue()) {
+                    final TypeMirror type = (TypeMirror) ((AnnotationValue) value).getValue();
+                    if (TypeKind.DECLARED.equals(type.getKind())) eventTypes.add((TypeElement) ((DeclaredType) type).asElement());
+                }
+            }
+        }
+        return eventTypes;
+    }
+
+    private boolean hasGuard(final ExecutableElement method, final TypeElement eventTarget) {
+        for (AnnotationMirror annotation : method.getAnnotationMirrors()) {
+            if (!eventTarget.equals(annotation.getAnnotationType().asElement())) continue;
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals("guard") && !"".equals(entry.getValue().getValue())) return true;
+            }
+        }
+        return false;
+    }
+
+    private void generateWrapper(final TypeElement owner, final PackageElement ownerPackage, final ExecutableElement method, final TypeElement eventType, final TypeElement event) throws IOException {
+        final Elements elements = this.processingEnv.getElementUtils();
+        final Types types = this.processingEnv.getTypeUtils();
+        final String wrapperName = PregeneratedWrappers.getWrapperName(elements.getBinaryName(owner).toString(), method.getSimpleName().toString(), this.getMethodDescriptor(method), elements.getBinaryName(eventType).toString());
+        if (!this.generatedWrappers.add(wrapperName)) return;
+
+        final String packageName = ownerPackage.getQualifiedName().toString();
+        final String simpleName = packageName.isEmpty() ? wrapperName : wrapperName.substring(packageName.length() + 1);
+        final String ownerName = this.getSourceName(owner.asType());
+        final boolean isStatic = method.getModifiers().contains(Modifier.STATIC);
+
+        final StringBuilder arguments = new StringBuilder();
+        for (VariableElement parameter : method.getParameters()) { //Pass the event or null if it is not the current event
+            if (arguments.length() != 0) arguments.append(", ");
+            final TypeMirror type = types.erasure(parameter.asType());
+            if (types.isSameType(type, types.erasure(event.asType()))) arguments.append("event");
+            else if (types.isSameType(type, types.erasure(eventType.asType()))) arguments.append("(").append(this.getSourceName(type)).append(") event");
+            else arguments.append(this.getNullValue(type));
+        }
+
+        final StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) source.append("package ").append(packageName).append(";\n\n");
+        source.append("/**\n * Generated by ").append(EventTargetProcessor.class.getName()).append("\n */\n");
+        source.append("public final class ").append(simpleName).append(" implements ").append(WRAPPED_CALLER).append(" {\n\n");
+        if (isStatic) {
+            source.append("    public ").append(simpleName).append("() {\n    }\n\n");
+        } else {
+            source.append("    private final ").append(ownerName).append(" listener;\n\n");
+            source.append("    public ").append(simpleName).append("(final Object listener) {\n");
+            source.append("        this.listener = (").append(ownerName).append(") listener;\n    }\n\n");
+        }
+        source.append("    @Override\n    public void call(final ").append(EVENT).append(" event) {\n");
+        final String call = (isStatic ? ownerName : "this.listener") + "." + method.getSimpleName() + "(" + arguments + ");";
+        if (method.getThrownTypes().isEmpty()) {
+            source.append("        ").append(call).append("\n");
+        } else {
+            source.append("        try {\n            ").append(call).append("\n        } catch (Throwable t) {\n");
+            source.append("            throw ").append(ReflectUtils.class.getName()).append(".<RuntimeException>sneakyThrow(t);\n        }\n");
+        }
+        source.append("    }\n\n}\n");
+
+        try (Writer writer = this.processingEnv.getFiler().createSourceFile(wrapperName, owner).openWriter()) {
+            writer.write(source.toString());
+        }
+    }
+
+    /**
+     * Check if a method or type can be accessed from classes in the given package
+     */
+    private boolean isAccessible(final Element element, final PackageElement fromPackage) {
+        final Set<Modifier> modifiers = element.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE)) return false;
+        if (!modifiers.contains(Modifier.PUBLIC) && !fromPackage.equals(this.processingEnv.getElementUtils().getPackageOf(element))) return false;
+
+        final Element enclosing = element.getEnclosingElement();
+        if (enclosing == null || ElementKind.PACKAGE.equals(enclosing.getKind())) return true;
+        if (!enclosing.getKind().isClass() && !enclosing.getKind().isInterface()) return false; //Local and anonymous classes
+        return this.isAccessible(enclosing, fromPackage);
+    }
+
+    private boolean isAccessible(final TypeMirror type, final PackageElement fromPackage) {
+        final TypeMirror erased = this.processingEnv.getTypeUtils().erasure(type);
+        if (erased.getKind().isPrimitive()) return true;
+        if (TypeKind.ARRAY.equals(erased.getKind())) return this.isAccessible(((ArrayType) erased).getComponentType(), fromPackage);
+        if (!TypeKind.DECLARED.equals(erased.getKind())) return false;
+
+        final TypeElement element = (TypeElement) ((DeclaredType) erased).asElement();
+        if (!NestingKind.TOP_LEVEL.equals(element.getNestingKind()) && !NestingKind.MEMBER.equals(element.getNestingKind())) return false;
+        return this.isAccessible((Element) element, fromPackage);
+    }
+
+    private String getMethodDescriptor(final ExecutableElement method) {
+        final StringBuilder descriptor = new StringBuilder("(");
+        for (VariableElement parameter : method.getParameters()) descriptor.append(this.getDescriptor(parameter.asType()));
+        return descriptor.append(")").append(this.getDescriptor(method.getReturnType())).toString();
+    }
+
+    private String getDescriptor(final TypeMirror type) {
+        final TypeMirror erased = this.processingEnv.getTypeUtils().erasure(type);
+        switch (erased.getKind()) {
+            case BOOLEAN:
+                return "Z";
+            case BYTE:
+                return "B";
+            case SHORT:
+                return "S";
+            case CHAR:
+                return "C";
+            case INT:
+                return "I";
+            case LONG:
+                return "J";
+            case FLOAT:
+                return "F";
+            case DOUBLE:
+                return "D";
+            case VOID:
+                return "V";
+            case ARRAY:
+                return "[" + this.getDescriptor(((ArrayType) erased).getComponentType());
+            case DECLARED:
+                return "L" + this.processingEnv.getElementUtils().getBinaryName((TypeElement) ((DeclaredType) erased).asElement()).toString().replace('.', '/') + ";";
+            default:
+                throw new IllegalArgumentException("Unsupported type " + erased);
+        }
+    }
+
+    private String getSourceName(final TypeMirror type) {
+        final TypeMirror erased = this.processingEnv.getTypeUtils().erasure(type);
+        if (TypeKind.ARRAY.equals(erased.getKind())) return this.getSourceName(((ArrayType) erased).getComponentType()) + "[]";
+        if (TypeKind.DECLARED.equals(erased.getKind())) return ((TypeElement) ((DeclaredType) erased).asElement()).getQualifiedName().toString();
+        return erased.toString();
+    }
+
+    private String getNullValue(final TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return "false";
+            case BYTE:
+                return "(byte) 0";
+            case SHORT:
+                return "(short) 0";
+            case CHAR:
+                return "(char) 0";
+            case INT:
+                return "0";
+            case LONG:
+                return "0L";
+            case FLOAT:
+                return "0F";
+            case DOUBLE:
+                return "0D";
+            default:
+                return "(" + this.getSourceName(type) + ") null";
+        }
+    }
+
+}
@@ -3,7 +3,7 @@ package net.lenni0451.asmevents.utils;
 import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
-import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.*;
 
 public class ASMUtils {
 
@@ -13,6 +13,24 @@ public class ASMUtils {
         return classWriter.toByteArray();
     }
 
+    /**
+     * Rename a generated class and all references to itself in its methods
+     *
+     * @param node    The generated class
+     * @param newName The new internal name of the class
+     */
+    public static void renameClass(final ClassNode node, final String newName) {
+        final String oldName = node.name;
+        node.name = newName;
+        for (MethodNode method : node.methods) {
+            for (AbstractInsnNode insn : method.instructions) {
+                if (insn instanceof FieldInsnNode && oldName.equals(((FieldInsnNode) insn).owner)) ((FieldInsnNode) insn).owner = newName;
+                else if (insn instanceof MethodInsnNode && oldName.equals(((MethodInsnNode) insn).owner)) ((MethodInsnNode) insn).owner = newName;
+                else if (insn instanceof TypeInsnNode && oldName.equals(((TypeInsnNode) insn).desc)) ((TypeInsnNode) insn).desc = newName;
+            }
+        }
+    }
+
     public static void addDefaultConstructor(final ClassNode node) {
         MethodVisitor visitor = node.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
         visitor.visitVarInsn(Opcodes.ALOAD, 0);
@@ -21,6 +39,19 @@ public class ASMUtils {
         visitor.visitEnd();
     }
 
+    /**
+     * Push an int constant onto the stack using the smallest instruction for the value
+     *
+     * @param visitor The method visitor
+     * @param value   The value to push
+     */
+    public static void pushInt(final MethodVisitor visitor, final int value) {
+        if (value >= -1 && value <= 5) visitor.visitInsn(Opcodes.ICONST_0 + value);
+        else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) visitor.visitIntInsn(Opcodes.BIPUSH, value);
+        else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) visitor.visitIntInsn(Opcodes.SIPUSH, value);
+        else visitor.visitLdcInsn(value);
+    }
+
     public static void generateNullValue(final MethodVisitor visitor, final Class<?> type) {
         if (boolean.class.equals(type) || byte.class.equals(type) || short.class.equals(type) || char.class.equals(type) || int.class.equals(type)) {
             visitor.visitInsn(Opcodes.ICONST_0);
@@ -0,0 +1,239 @@
+package net.lenni0451.asmevents.utils;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.tree.ClassNode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * On disk cache of generated class bytes<br>
+ * Computing the stack map frames of generated classes is the slowest part of generating them, so the framed bytes are stored and reused on the next start<br>
+ * <br>
+ * The key of an entry is a hash of the generated class without frames and the bytes of all classes it depends on (listener and event classes)<br>
+ * If any listener or event class changes the key changes too and the class is generated again<br>
+ * <br>
+ * The cache consists of two append only files:<br>
+ * {@code index.bin} contains the key, offset, length and checksum of every entry and is memory mapped when the cache is opened<br>
+ * Entries which could not be defined are removed by appending a tombstone entry with the same key<br>
+ * {@code classes.bin} contains the class bytes and is also memory mapped<br>
+ * Old entries are never removed, delete the directory to clean up the cache
+ */
+public class ClassCache {
+
+    private static final int MAGIC = 0x41534D45;
+    private static final int VERSION = 1;
+    private static final int KEY_SIZE = 32;
+    private static final int HEADER_SIZE = 8;
+    private static final int ENTRY_SIZE = KEY_SIZE + 8 + 4 + 4;
+    private static final int TOMBSTONE = -1;
+    private static final ClassValue<byte[]> CLASS_HASHES = new ClassValue<byte[]>() {
+        @Override
+        protected byte[] computeValue(final Class<?> type) {
+            final String resource = type.getName().replace('.', '/') + ".class";
+            final ClassLoader loader = type.getClassLoader();
+            try (InputStream is = loader == null ? ClassLoader.getSystemResourceAsStream(resource) : loader.getResourceAsStream(resource)) {
+                if (is == null) return null;
+                final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                final byte[] buffer = new byte[4096];
+                int len;
+                while ((len = is.read(buffer)) != -1) baos.write(buffer, 0, len);
+                return newDigest().digest(baos.toByteArray());
+            } catch (IOException e) {
+                return null;
+            }
+        }
+    };
+
+    private final File indexFile;
+    private final File dataFile;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private volatile MappedByteBuffer data;
+
+    /**
+     * Open the cache in the given directory<br>
+     * The directory is created if it does not exist
+     *
+     * @param directory The cache directory
+     * @throws IOException If the directory could not be created or the cache files could not be read
+     */
+    public ClassCache(final File directory) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) throw new IOException("Unable to create cache directory " + directory);
+        this.indexFile = new File(directory, "index.bin");
+        this.dataFile = new File(directory, "classes.bin");
+        this.load();
+    }
+
+    /**
+     * Calculate the key of a generated class
+     *
+     * @param node         The generated class
+     * @param dependencies All classes referenced by the generated class
+     * @return The key or null if the bytes of a dependency are not available (e.g. classes defined at runtime)
+     */
+    public String getKey(final ClassNode node, final Class<?>... dependencies) {
+        final MessageDigest digest = newDigest();
+        for (Class<?> dependency : dependencies) {
+            final byte[] hash = CLASS_HASHES.get(dependency);
+            if (hash == null) return null;
+            digest.update(dependency.getName().getBytes());
+            digest.update(hash);
+        }
+        final ClassWriter classWriter = new ClassWriter(0);
+        node.accept(classWriter);
+        digest.update(classWriter.toByteArray());
+
+        final StringBuilder key = new StringBuilder();
+        for (byte b : digest.digest()) key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        return key.toString();
+    }
+
+    /**
+     * @param key The key of the generated class
+     * @return The cached class bytes or null if the class is not cached or the entry is corrupted
+     */
+    public byte[] get(final String key) {
+        final Entry entry = this.entries.get(key);
+        if (entry == null) return null;
+
+        final byte[] bytes = new byte[entry.length];
+        final ByteBuffer data = this.data.duplicate();
+        data.position((int) entry.offset);
+        data.get(bytes);
+        if (checksum(bytes) != entry.checksum) {
+            this.entries.remove(key, entry);
+            return null;
+        }
+        return bytes;
+    }
+
+    /**
+     * Store the bytes of a generated class<br>
+     * Existing entries with the same key are replaced<br>
+     * The bytes are not kept in memory, they are read from the mapped data file when they are requested again
+     *
+     * @param key   The key of the generated class
+     * @param bytes The class bytes
+     */
+    public synchronized void put(final String key, final byte[] bytes) {
+        this.write(key, bytes);
+    }
+
+    /**
+     * Remove an entry which could not be defined<br>
+     * A tombstone entry is appended to the index so the entry is also removed for the next start
+     *
+     * @param key The key of the entry
+     */
+    public synchronized void invalidate(final String key) {
+        this.entries.remove(key);
+        this.write(key, null);
+    }
+
+    private void write(final String key, final byte[] bytes) {
+        try (FileChannel index = FileChannel.open(this.indexFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+             FileChannel data = FileChannel.open(this.dataFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final FileLock lock = index.lock(); //Other processes may share the cache directory
+            try {
+                if (index.size() < HEADER_SIZE) {
+                    index.truncate(0);
+                    data.truncate(0);
+                    this.entries.clear();
+                    final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+                    header.flip();
+                    index.write(header, 0);
+                }
+
+                //The data is written before the index entry so an entry never points to missing data
+                final long offset = bytes == null ? 0 : data.size();
+                final int length = bytes == null ? TOMBSTONE : bytes.length;
+                final int checksum = bytes == null ? 0 : checksum(bytes);
+                if (offset + length > Integer.MAX_VALUE) return;
+                if (bytes != null) data.write(ByteBuffer.wrap(bytes), offset);
+                final ByteBuffer entry = ByteBuffer.allocate(ENTRY_SIZE);
+                for (int i = 0; i < key.length(); i += 2) entry.put((byte) Integer.parseInt(key.substring(i, i + 2), 16));
+                entry.putLong(offset).putInt(length).putInt(checksum);
+                entry.flip();
+                index.write(entry, index.size() - (index.size() - HEADER_SIZE) % ENTRY_SIZE);
+
+                if (bytes != null) {
+                    //Map the data file again so the new entry can be read
+                    this.data = data.map(FileChannel.MapMode.READ_ONLY, 0, data.size());
+                    this.entries.put(key, new Entry(offset, length, checksum));
+                }
+            } finally {
+                lock.release();
+            }
+        } catch (IOException ignored) {
+            //The cache is only an optimization, the class is generated again the next time
+        }
+    }
+
+    private void load() throws IOException {
+        if (!this.indexFile.isFile() || !this.dataFile.isFile()) return;
+        try (FileChannel index = FileChannel.open(this.indexFile.toPath(), StandardOpenOption.READ);
+             FileChannel data = FileChannel.open(this.dataFile.toPath(), StandardOpenOption.READ)) {
+            if (index.size() < HEADER_SIZE || data.size() > Integer.MAX_VALUE) return;
+            final MappedByteBuffer indexBuffer = index.map(FileChannel.MapMode.READ_ONLY, 0, index.size());
+            if (indexBuffer.getInt() != MAGIC || indexBuffer.getInt() != VERSION) return;
+            //The mappings stay valid after the channels are closed
+            this.data = data.map(FileChannel.MapMode.READ_ONLY, 0, data.size());
+
+            final StringBuilder key = new StringBuilder();
+            while (indexBuffer.remaining() >= ENTRY_SIZE) {
+                key.setLength(0);
+                for (int i = 0; i < KEY_SIZE; i++) {
+                    final byte b = indexBuffer.get();
+                    key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+                }
+                final long offset = indexBuffer.getLong();
+                final int length = indexBuffer.getInt();
+                final int checksum = indexBuffer.getInt();
+                //Later entries replace earlier ones, partially written entries are skipped
+                if (length == TOMBSTONE) this.entries.remove(key.toString());
+                else if (offset >= 0 && length >= 0 && offset + length <= data.size()) this.entries.put(key.toString(), new Entry(offset, length, checksum));
+            }
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (Throwable t) {
+            throw new IllegalStateException("SHA-256 is not supported", t);
+        }
+    }
+
+    private static int checksum(final byte[] bytes) {
+        final CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length);
+        return (int) crc.getValue();
+    }
+
+
+    private static class Entry {
+
+        private final long offset;
+        private final int length;
+        private final int checksum;
+
+        private Entry(final long offset, final int length, final int checksum) {
+            this.offset = offset;
+            this.length = length;
+            this.checksum = checksum;
+        }
+
+    }
+
+}
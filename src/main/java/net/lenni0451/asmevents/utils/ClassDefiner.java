@@ -1,21 +1,108 @@
 package net.lenni0451.asmevents.utils;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.util.Collections;
 import java.util.Map;
 import java.util.WeakHashMap;
 
+/**
+ * Defines generated classes<br>
+ * Every instance uses its own class loaders if hidden classes are not supported
+ */
 public class ClassDefiner {
 
-    private static final Map<ClassLoader, ClassDefinerLoader> loaders = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final Method PRIVATE_LOOKUP_IN;
+    private static final Method DEFINE_HIDDEN_CLASS;
+    private static final Object HIDDEN_CLASS_OPTIONS;
 
-    public static <T> Class<T> define(final Class<?> parent, final String name, final byte[] data) {
-        return define(parent.getClassLoader(), name, data);
+    static {
+        //Hidden classes are only available since Java 15 so they are accessed using reflection
+        //Without any ClassOption the hidden class is not strongly linked to its loader and can be unloaded once it is unreachable
+        Method privateLookupIn = null;
+        Method defineHiddenClass = null;
+        Object hiddenClassOptions = null;
+        try {
+            final Class<?> classOption = Class.forName("java.lang.invoke.MethodHandles$Lookup$ClassOption");
+            hiddenClassOptions = Array.newInstance(classOption, 0);
+            privateLookupIn = MethodHandles.class.getDeclaredMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class);
+            defineHiddenClass = MethodHandles.Lookup.class.getDeclaredMethod("defineHiddenClass", byte[].class, boolean.class, hiddenClassOptions.getClass());
+        } catch (Throwable t) {
+            privateLookupIn = null;
+            defineHiddenClass = null;
+        }
+        PRIVATE_LOOKUP_IN = privateLookupIn;
+        DEFINE_HIDDEN_CLASS = defineHiddenClass;
+        HIDDEN_CLASS_OPTIONS = hiddenClassOptions;
+    }
+
+    private final Map<ClassLoader, ClassDefinerLoader> loaders = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * @return If classes are defined as hidden classes which can be unloaded once they are no longer used
+     */
+    public static boolean supportsHiddenClasses() {
+        return DEFINE_HIDDEN_CLASS != null;
+    }
+
+    /**
+     * Get the internal name of a generated class which is placed next to the host class<br>
+     * Hidden classes have to be in the same package as their host
+     *
+     * @param host The host class of the generated class
+     * @param name The simple name of the generated class
+     * @return The internal name of the generated class
+     */
+    public static String getClassName(final Class<?> host, final String name) {
+        final String hostName = host.getName();
+        if (!hostName.contains(".")) return name;
+        return hostName.substring(0, hostName.lastIndexOf('.')).replace(".", "/") + "/" + name;
+    }
+
+    /**
+     * Define a class next to the host class<br>
+     * If hidden classes are supported the class is defined as a hidden class of the host which can be unloaded once it is unreachable<br>
+     * Otherwise (or if the host can not be accessed) the class is defined in a class loader with the loader of the host as parent
+     *
+     * @param host The host class of the generated class
+     * @param name The name of the generated class
+     * @param data The bytecode of the generated class
+     * @return The defined class
+     */
+    public <T> Class<T> define(final Class<?> host, final String name, final byte[] data) {
+        if (DEFINE_HIDDEN_CLASS != null) {
+            try {
+                final MethodHandles.Lookup lookup = (MethodHandles.Lookup) PRIVATE_LOOKUP_IN.invoke(null, host, MethodHandles.lookup());
+                final MethodHandles.Lookup hiddenLookup = (MethodHandles.Lookup) DEFINE_HIDDEN_CLASS.invoke(lookup, data, true, HIDDEN_CLASS_OPTIONS);
+                return (Class<T>) hiddenLookup.lookupClass();
+            } catch (InvocationTargetException e) {
+                //The host module does not open its package or the host is in a different package
+                //Fall back to the class loader, all other errors (e.g. a VerifyError) are rethrown
+                final Throwable cause = e.getCause();
+                if (!(cause instanceof IllegalAccessException) && !(cause instanceof IllegalArgumentException)) throw ReflectUtils.<RuntimeException>sneakyThrow(cause);
+            } catch (IllegalAccessException ignored) {
+                //The reflective methods themselves can not be accessed
+            }
+        }
+        return this.define(host.getClassLoader(), name, data);
     }
 
-    public static <T> Class<T> define(final ClassLoader parentLoader, final String name, final byte[] data) {
-        ClassDefinerLoader loader = loaders.computeIfAbsent(parentLoader, ClassDefinerLoader::new);
+    /**
+     * Define a class in a class loader with the given loader as parent<br>
+     * Generated class names are unique or derived from the class content (see {@link ClassCache}), so an already defined class with the same name is reused
+     *
+     * @param parentLoader The parent of the class loader
+     * @param name         The name of the generated class
+     * @param data         The bytecode of the generated class
+     * @return The defined class
+     */
+    public <T> Class<T> define(final ClassLoader parentLoader, final String name, final byte[] data) {
+        ClassDefinerLoader loader = this.loaders.computeIfAbsent(parentLoader, ClassDefinerLoader::new);
         synchronized (loader.getClassLoadingLock(name)) {
-            if (loader.hasClass(name)) throw new IllegalStateException(name + " already defined");
+            final Class<?> definedClass = loader.getDefinedClass(name);
+            if (definedClass != null) return (Class<T>) definedClass;
             return (Class<T>) loader.define(name, data);
         }
     }
@@ -44,18 +131,12 @@ public class ClassDefiner {
             return super.getClassLoadingLock(name);
         }
 
-        public boolean hasClass(final String name) {
+        public Class<?> getDefinedClass(final String name) {
             synchronized (this.getClassLoadingLock(name)) {
-                try {
-                    Class.forName(name);
-                    return true;
-                } catch (ClassNotFoundException ignored) {
-                }
-                return false;
+                return this.findLoadedClass(name);
             }
         }
 
     }
 
 }
- 
\ No newline at end of file
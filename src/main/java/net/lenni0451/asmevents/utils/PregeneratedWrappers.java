@@ -0,0 +1,96 @@
+package net.lenni0451.asmevents.utils;
+
+import net.lenni0451.asmevents.event.IEvent;
+import net.lenni0451.asmevents.internal.IWrappedCaller;
+import org.objectweb.asm.Type;
+
+import java.lang.reflect.Method;
+
+/**
+ * Naming and lookup of wrappers generated at compile time by the {@link net.lenni0451.asmevents.processor.EventTargetProcessor}<br>
+ * The processor and the runtime both use {@link #getWrapperName(String, String, String, String)} so the names always match
+ */
+public class PregeneratedWrappers {
+
+    public static final String WRAPPER_SUFFIX = "$$EventWrapper$";
+
+    /**
+     * Get the binary name of the pregenerated wrapper of a listener method<br>
+     * The descriptor and event type are escaped instead of hashed, so overloads of the same method never share a wrapper name
+     *
+     * @param listenerClass    The binary name of the class declaring the listener method
+     * @param methodName       The name of the listener method
+     * @param methodDescriptor The descriptor of the listener method
+     * @param eventType        The binary name of the event the wrapper is generated for
+     * @return The binary name of the wrapper class
+     */
+    public static String getWrapperName(final String listenerClass, final String methodName, final String methodDescriptor, final String eventType) {
+        return listenerClass + WRAPPER_SUFFIX + methodName + "$" + escape(methodDescriptor) + "$" + escape(eventType);
+    }
+
+    /**
+     * Escape all characters which are not letters or digits as an underscore followed by a fixed length code<br>
+     * The escaping can be reversed, so different strings always result in different names<br>
+     * Descriptors only contain {@code /} and binary names only {@code .} as package separator, so both share a code
+     *
+     * @param s The string to escape
+     * @return The escaped string which only contains letters, digits and underscores
+     */
+    private static String escape(final String s) {
+        final StringBuilder out = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                out.append(c);
+                continue;
+            }
+            switch (c) {
+                case '_':
+                    out.append("__");
+                    break;
+                case '/':
+                case '.':
+                    out.append("_p");
+                    break;
+                case '$':
+                    out.append("_i");
+                    break;
+                case ';':
+                    out.append("_e");
+                    break;
+                case '[':
+                    out.append("_a");
+                    break;
+                case '(':
+                    out.append("_o");
+                    break;
+                case ')':
+                    out.append("_c");
+                    break;
+                default:
+                    out.append("_x").append(String.format("%04x", (int) c));
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Try to find the pregenerated wrapper of a listener method<br>
+     * The wrapper is only searched in the class loader of the listener class
+     *
+     * @param method    The listener method
+     * @param eventType The event the wrapper is generated for
+     * @return The wrapper class or null if none was generated
+     */
+    public static Class<? extends IWrappedCaller> findWrapper(final Method method, final Class<? extends IEvent> eventType) {
+        final Class<?> listenerClass = method.getDeclaringClass();
+        final String name = getWrapperName(listenerClass.getName(), method.getName(), Type.getMethodDescriptor(method), eventType.getName());
+        try {
+            final Class<?> wrapperClass = Class.forName(name, true, listenerClass.getClassLoader());
+            if (IWrappedCaller.class.isAssignableFrom(wrapperClass)) return wrapperClass.asSubclass(IWrappedCaller.class);
+        } catch (Throwable ignored) { //Custom class loaders may throw anything for unknown classes
+        }
+        return null;
+    }
+
+}
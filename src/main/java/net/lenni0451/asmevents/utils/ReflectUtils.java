@@ -28,4 +28,15 @@ public class ReflectUtils {
         throw new RuntimeException("Unable to find enum field for " + value.getClass().getName() + " " + value);
     }
 
+    /**
+     * Throw any exception without declaring it, like the generated classes do
+     *
+     * @param t The exception to throw
+     * @return Never returns, only declared to allow {@code throw sneakyThrow(t)}
+     * @throws T Always
+     */
+    public static <T extends Throwable> RuntimeException sneakyThrow(final Throwable t) throws T {
+        throw (T) t;
+    }
+
 }
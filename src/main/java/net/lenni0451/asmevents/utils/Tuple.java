@@ -1,5 +1,7 @@
 package net.lenni0451.asmevents.utils;
 
+import java.util.Objects;
+
 public class Tuple<A, B> {
 
     private final A a;
@@ -18,4 +20,17 @@ public class Tuple<A, B> {
         return this.b;
     }
 
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Tuple)) return false;
+        Tuple<?, ?> tuple = (Tuple<?, ?>) o;
+        return Objects.equals(this.a, tuple.a) && Objects.equals(this.b, tuple.b);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.a, this.b);
+    }
+
 }
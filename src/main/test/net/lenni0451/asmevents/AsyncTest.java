@@ -0,0 +1,48 @@
+package net.lenni0451.asmevents;
+
+import net.lenni0451.asmevents.event.EventTarget;
+import net.lenni0451.asmevents.event.enums.EnumEventPriority;
+import net.lenni0451.asmevents.event.wrapper.StoppableEvent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class AsyncTest {
+
+    public static void main(String[] args) {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        EventManager.register(AsyncTest.class);
+
+        System.out.println("Called from " + Thread.currentThread().getName());
+        final SlowEvent event = EventManager.callAsync(new SlowEvent(), executor).join();
+        System.out.println("Cancelled: " + event.isCancelled());
+
+        EventManager.callAsync(new ErrorEvent(), executor).whenComplete((e, t) -> System.out.println("Completed exceptionally: " + (t != null))).exceptionally(t -> null).join();
+        executor.shutdown();
+    }
+
+    @EventTarget(priority = EnumEventPriority.HIGH)
+    public static void first(final SlowEvent event) throws InterruptedException {
+        Thread.sleep(100);
+        System.out.println("First listener on " + Thread.currentThread().getName());
+        event.setCancelled(true);
+    }
+
+    @EventTarget
+    public static void second(final SlowEvent event) {
+        System.out.println("Should not call (event is stopped)");
+    }
+
+    @EventTarget
+    public static void error(final ErrorEvent event) {
+        throw new IllegalStateException("Test exception");
+    }
+
+
+    public static class SlowEvent extends StoppableEvent {
+    }
+
+    public static class ErrorEvent extends StoppableEvent {
+    }
+
+}
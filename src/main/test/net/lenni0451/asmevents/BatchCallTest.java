@@ -0,0 +1,72 @@
+package net.lenni0451.asmevents;
+
+import net.lenni0451.asmevents.event.EventTarget;
+import net.lenni0451.asmevents.event.IEvent;
+import net.lenni0451.asmevents.event.wrapper.StoppableEvent;
+
+import java.text.DecimalFormat;
+import java.util.Arrays;
+
+public class BatchCallTest {
+
+    private static int CALLS = 0;
+
+    public static void main(String[] args) {
+        EventManager.register(BatchCallTest.class);
+        EventManager.setErrorListener(t -> System.out.println("Error listener: " + t.getMessage()));
+
+        final EntityEvent[] events = new EntityEvent[5];
+        for (int i = 0; i < events.length; i++) events[i] = new EntityEvent(i);
+        EventManager.callAll(EntityEvent.class, events);
+        System.out.println("Cancelled: " + events[0].isCancelled() + " " + events[1].isCancelled());
+        System.out.println("Mixed classes");
+        EventManager.callAll(IEvent.class, Arrays.asList(new EntityEvent(10), new TestEvent2()));
+
+        EventManager.unregister(BatchCallTest.class);
+        EventManager.register(EntityEvent.class, CountListener.class);
+        final DecimalFormat df = new DecimalFormat();
+        final EntityEvent[] batch = new EntityEvent[10_000];
+        for (int i = 0; i < batch.length; i++) batch[i] = new EntityEvent(i);
+        for (int run = 0; run < 5; run++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < 1_000; i++) {
+                for (EntityEvent event : batch) EventManager.call(event);
+            }
+            final long single = System.nanoTime() - start;
+            start = System.nanoTime();
+            for (int i = 0; i < 1_000; i++) EventManager.callAll(EntityEvent.class, batch);
+            final long all = System.nanoTime() - start;
+            System.out.println("Single calls: " + df.format(single / 10_000_000F) + "ns/event | Batch calls: " + df.format(all / 10_000_000F) + "ns/event");
+        }
+        System.out.println("Calls: " + CALLS);
+    }
+
+    @EventTarget
+    public static void onEntity(final EntityEvent event) {
+        System.out.println("Entity " + event.id);
+        if (event.id == 0) event.setCancelled(true);
+        if (event.id == 2) throw new IllegalStateException("Exception for entity 2");
+    }
+
+    @EventTarget
+    public static void onAll(final IEvent event) {
+        System.out.println("Catch-all " + event.getClass().getSimpleName());
+    }
+
+
+    public static class CountListener {
+        @EventTarget
+        public static void onEntity(final EntityEvent event) {
+            CALLS++;
+        }
+    }
+
+    public static class EntityEvent extends StoppableEvent {
+        private final int id;
+
+        public EntityEvent(final int id) {
+            this.id = id;
+        }
+    }
+
+}
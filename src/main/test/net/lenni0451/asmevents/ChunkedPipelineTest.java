@@ -0,0 +1,100 @@
+package net.lenni0451.asmevents;
+
+import net.lenni0451.asmevents.event.EnumPipelineSafety;
+import net.lenni0451.asmevents.event.EventTarget;
+import net.lenni0451.asmevents.event.PipelineSafety;
+import net.lenni0451.asmevents.event.types.IPayloadEvent;
+import net.lenni0451.asmevents.event.wrapper.StoppableEvent;
+
+public class ChunkedPipelineTest {
+
+    private static final int LISTENER_COUNT = 10_000;
+    private static int payloadCalls = 0;
+
+    public static void main(String[] args) {
+        final EventBus eventBus = new EventBus();
+        final CountingListener[] listeners = new CountingListener[LISTENER_COUNT];
+        for (int i = 0; i < listeners.length; i++) listeners[i] = new CountingListener(i);
+        long start = System.nanoTime();
+        eventBus.registerAll((Object[]) listeners);
+        System.out.println("Registered " + LISTENER_COUNT + " listener in " + (System.nanoTime() - start) / 1_000_000 + "ms");
+
+        final ChunkEvent event = new ChunkEvent(LISTENER_COUNT / 2);
+        eventBus.call(event);
+        System.out.println("Calls until stopped: " + event.calls + " (expected " + (LISTENER_COUNT / 2 + 1) + ") | In order: " + event.inOrder);
+
+        final ChunkEvent full = new ChunkEvent(-1);
+        eventBus.setErrorListener(t -> full.errors++);
+        eventBus.register(new FailingListener());
+        eventBus.call(full);
+        System.out.println("Calls: " + full.calls + " (expected " + LISTENER_COUNT + ") | Errors: " + full.errors + " | In order: " + full.inOrder);
+
+        start = System.nanoTime();
+        eventBus.register(new CountingListener(LISTENER_COUNT));
+        System.out.println("Appended listener in " + (System.nanoTime() - start) / 1_000_000 + "ms");
+        final ChunkEvent appended = new ChunkEvent(-1);
+        eventBus.call(appended);
+        System.out.println("Calls: " + appended.calls + " (expected " + (LISTENER_COUNT + 1) + ") | In order: " + appended.inOrder);
+
+        final EventBus payloadBus = new EventBus();
+        final Object[] payloadListeners = new Object[1_000];
+        for (int i = 0; i < payloadListeners.length; i++) payloadListeners[i] = new PayloadListener();
+        payloadBus.registerAll(payloadListeners);
+        payloadBus.getInvoker(CountEvent.class).call(2);
+        System.out.println("Payload calls: " + payloadCalls + " (expected " + payloadListeners.length * 2 + ")");
+    }
+
+
+    @PipelineSafety(EnumPipelineSafety.ERROR_LISTENER)
+    public static class ChunkEvent extends StoppableEvent {
+
+        private final int stopAt;
+        private int calls;
+        private int errors;
+        private boolean inOrder = true;
+
+        public ChunkEvent(final int stopAt) {
+            this.stopAt = stopAt;
+        }
+
+    }
+
+    public static class CountingListener {
+
+        private final int index;
+
+        public CountingListener(final int index) {
+            this.index = index;
+        }
+
+        @EventTarget
+        public void onEvent(final ChunkEvent event) {
+            if (event.calls != this.index) event.inOrder = false;
+            if (event.calls++ == event.stopAt) event.setCancelled(true);
+        }
+
+    }
+
+    public interface CountEvent extends IPayloadEvent {
+        void call(final int amount);
+    }
+
+    public static class PayloadListener {
+
+        @EventTarget(noParamEvents = CountEvent.class)
+        public void onCount(final int amount) {
+            payloadCalls += amount;
+        }
+
+    }
+
+    public static class FailingListener {
+
+        @EventTarget
+        public void onEvent(final ChunkEvent event) {
+            throw new IllegalStateException();
+        }
+
+    }
+
+}
@@ -0,0 +1,55 @@
+package net.lenni0451.asmevents;
+
+import net.lenni0451.asmevents.event.EventTarget;
+import net.lenni0451.asmevents.utils.ClassCache;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+public class ClassCacheTest {
+
+    public static void main(String[] args) throws Throwable {
+        final File cacheDirectory = Files.createTempDirectory("asmevents").toFile();
+        cacheDirectory.deleteOnExit();
+
+        //The first bus generates all classes and fills the cache, the second one (like after a restart) uses the cached bytes
+        for (int i = 1; i <= 2; i++) {
+            final EventBus eventBus = new EventBus();
+            eventBus.setCacheDirectory(cacheDirectory);
+            eventBus.setDirectInvocation(false);
+
+            final long start = System.nanoTime();
+            eventBus.register(new ClassCacheTest());
+            eventBus.register(ClassCacheTest.class);
+            System.out.println("Bus " + i + " registered in " + (System.nanoTime() - start) / 1000 + "us");
+            eventBus.call(new TestEvent1());
+            eventBus.call(new TestEvent2());
+        }
+
+        //Invalidated entries stay removed after a restart until they are stored again
+        final String key = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+        new ClassCache(cacheDirectory).put(key, new byte[]{1, 2, 3});
+        System.out.println("Stored: " + Arrays.toString(new ClassCache(cacheDirectory).get(key)));
+        new ClassCache(cacheDirectory).invalidate(key);
+        System.out.println("Invalidated: " + Arrays.toString(new ClassCache(cacheDirectory).get(key)));
+        new ClassCache(cacheDirectory).put(key, new byte[]{4, 5, 6});
+        System.out.println("Stored again: " + Arrays.toString(new ClassCache(cacheDirectory).get(key)));
+
+        for (File file : cacheDirectory.listFiles()) {
+            System.out.println(file.getName() + " " + file.length() + " bytes");
+            file.deleteOnExit();
+        }
+    }
+
+    @EventTarget
+    public void onEvent1(final TestEvent1 event) {
+        System.out.println("Instance " + event.getClass().getSimpleName());
+    }
+
+    @EventTarget
+    public static void onEvent2(final TestEvent2 event) {
+        System.out.println("Static " + event.getClass().getSimpleName());
+    }
+
+}
@@ -17,6 +17,13 @@ public class ClassLoaderTest {
         EventManager.register(ob);
         EventManager.register(ob.getClass());
         EventManager.call(new CoolEvent());
+
+        //The same listener class loaded by a second loader which can not see the first one
+        //The pipeline has to fall back to wrapped calls here
+        Object ob2 = cool().newInstance();
+        EventManager.register(ob2);
+        System.out.println("Three calls");
+        EventManager.call(new CoolEvent());
     }
 
     public static Class<?> cool() {
@@ -0,0 +1,71 @@
+package net.lenni0451.asmevents;
+
+import net.lenni0451.asmevents.event.EventTarget;
+import net.lenni0451.asmevents.utils.ClassDefiner;
+
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.text.DecimalFormat;
+
+public class ClassUnloadTest {
+
+    private static final long MAX_CLASS_GROWTH = 1_000;
+    private static final long MAX_METASPACE_GROWTH = 1024 * 1024;
+
+    public static void main(String[] args) {
+        System.out.println("Hidden classes: " + ClassDefiner.supportsHiddenClasses());
+        final DecimalFormat df = new DecimalFormat();
+        final ClassLoadingMXBean classLoading = ManagementFactory.getClassLoadingMXBean();
+        final ClassUnloadTest permanentListener = new ClassUnloadTest();
+
+        //Keep one listener registered so every register and unregister replaces the pipeline
+        EventManager.register(permanentListener);
+        long firstClasses = -1;
+        long firstMetaspace = -1;
+        long lastClasses = -1;
+        long lastMetaspace = -1;
+        for (int i = 0; i <= 100_000; i++) {
+            final ClassUnloadTest listener = new ClassUnloadTest();
+            EventManager.register(listener);
+            EventManager.call(new TestEvent2());
+            EventManager.unregister(listener);
+
+            if (i % 10_000 == 0) {
+                System.gc();
+                lastClasses = classLoading.getLoadedClassCount();
+                lastMetaspace = getMetaspaceUsage();
+                //The first cycles are used as warmup, classes loaded by the event bus itself are not counted
+                if (i == 10_000) {
+                    firstClasses = lastClasses;
+                    firstMetaspace = lastMetaspace;
+                }
+                System.out.println("Cycle " + df.format(i) + " | Loaded classes: " + df.format(classLoading.getLoadedClassCount()) + " | Unloaded classes: " + df.format(classLoading.getUnloadedClassCount()) + " | Metaspace: " + df.format(getMetaspaceUsage() / 1024) + " KB");
+            }
+        }
+        EventManager.unregister(permanentListener);
+
+        if (!ClassDefiner.supportsHiddenClasses()) {
+            //Classes defined in a class loader are only unloaded together with the event bus
+            System.out.println("Skipped: Hidden classes are not supported");
+            return;
+        }
+        final long classGrowth = lastClasses - firstClasses;
+        final long metaspaceGrowth = lastMetaspace - firstMetaspace;
+        System.out.println("Class growth: " + df.format(classGrowth) + " | Metaspace growth: " + df.format(metaspaceGrowth / 1024) + " KB");
+        if (classGrowth > MAX_CLASS_GROWTH || metaspaceGrowth > MAX_METASPACE_GROWTH) throw new IllegalStateException("Generated classes are not unloaded");
+        System.out.println("Passed");
+    }
+
+    private static long getMetaspaceUsage() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getName().equals("Metaspace")) return pool.getUsage().getUsed();
+        }
+        return -1;
+    }
+
+    @EventTarget
+    public void onEvent(final TestEvent2 event) {
+    }
+
+}
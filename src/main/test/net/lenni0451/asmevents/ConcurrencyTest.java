@@ -0,0 +1,81 @@
+package net.lenni0451.asmevents;
+
+import net.lenni0451.asmevents.event.EventTarget;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ConcurrencyTest {
+
+    private static final int CHURN_THREADS = 4;
+    private static final int CHURN_CYCLES = 2_000;
+    private static final int PERMANENT_LISTENERS = 8;
+
+    public static void main(String[] args) throws InterruptedException {
+        test(false, 0);
+        test(true, 0);
+        test(false, 100);
+    }
+
+    private static void test(final boolean lazyPipelines, final int compileThreshold) throws InterruptedException {
+        final EventBus bus = new EventBus();
+        bus.setLazyPipelines(lazyPipelines);
+        bus.setCompileThreshold(compileThreshold);
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicInteger errors = new AtomicInteger();
+        final AtomicBoolean running = new AtomicBoolean(true);
+        bus.setErrorListener(t -> {
+            errors.incrementAndGet();
+            t.printStackTrace();
+        });
+        Thread.setDefaultUncaughtExceptionHandler((thread, t) -> {
+            errors.incrementAndGet();
+            t.printStackTrace();
+        });
+
+        final List<Thread> callers = new ArrayList<>();
+        for (int i = 0; i < 2; i++) { //Call the event the whole time while listeners change
+            callers.add(new Thread(() -> {
+                while (running.get()) bus.call(new TestEvent2());
+            }));
+        }
+        final List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < PERMANENT_LISTENERS; i++) { //Register the permanent listeners concurrently
+            workers.add(new Thread(() -> bus.register(new ConcurrencyTest(calls))));
+        }
+        for (int i = 0; i < CHURN_THREADS; i++) { //Register and unregister temporary listeners
+            workers.add(new Thread(() -> {
+                for (int cycle = 0; cycle < CHURN_CYCLES; cycle++) {
+                    final ConcurrencyTest listener = new ConcurrencyTest(new AtomicInteger());
+                    bus.register(listener);
+                    bus.unregister(listener);
+                }
+            }));
+        }
+        for (Thread thread : callers) thread.start();
+        for (Thread thread : workers) thread.start();
+        for (Thread thread : workers) thread.join();
+        running.set(false);
+        for (Thread thread : callers) thread.join();
+
+        calls.set(0);
+        bus.call(new TestEvent2());
+        System.out.println("Lazy pipelines: " + lazyPipelines + " | Compile threshold: " + compileThreshold + " | Listener calls: " + calls.get() + "/" + PERMANENT_LISTENERS + " | Errors: " + errors.get());
+        System.out.println(calls.get() == PERMANENT_LISTENERS && errors.get() == 0 ? "Passed" : "Failed");
+    }
+
+
+    private final AtomicInteger calls;
+
+    public ConcurrencyTest(final AtomicInteger calls) {
+        this.calls = calls;
+    }
+
+    @EventTarget
+    public void onEvent(final TestEvent2 event) {
+        this.calls.incrementAndGet();
+    }
+
+}
@@ -0,0 +1,35 @@
+package net.lenni0451.asmevents;
+
+import net.lenni0451.asmevents.event.EventTarget;
+
+public class EventBusTest {
+
+    public static void main(String[] args) {
+        final EventBus world1 = new EventBus();
+        final EventBus world2 = new EventBus();
+
+        world1.register(new EventBusTest("World 1"));
+        world2.register(new EventBusTest("World 2"));
+        EventManager.register(new EventBusTest("Default"));
+
+        System.out.println("Only world 1");
+        world1.call(new TestEvent2());
+        System.out.println("Only world 2");
+        world2.call(new TestEvent2());
+        System.out.println("Only default");
+        EventManager.call(new TestEvent2());
+    }
+
+
+    private final String name;
+
+    public EventBusTest(final String name) {
+        this.name = name;
+    }
+
+    @EventTarget
+    public void onEvent(final TestEvent2 event) {
+        System.out.println(this.name + " " + event);
+    }
+
+}
@@ -0,0 +1,132 @@
+package net.lenni0451.asmevents;
+
+import net.lenni0451.asmevents.event.EventTarget;
+import net.lenni0451.asmevents.event.IEvent;
+import net.lenni0451.asmevents.event.wrapper.CancellableEvent;
+
+public class GuardTest {
+
+    private static boolean enabled = true;
+
+    public static void main(String[] args) {
+        test(0);
+        test(100);
+
+        try {
+            new EventBus().register(new InvalidGuard());
+            System.out.println("Invalid guard registered");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Invalid guard rejected: " + e.getMessage());
+        }
+    }
+
+    private static void test(final int compileThreshold) {
+        System.out.println("Compile threshold: " + compileThreshold);
+        final EventBus eventBus = new EventBus();
+        eventBus.setCompileThreshold(compileThreshold);
+        final GuardTest world1 = new GuardTest("world1");
+        eventBus.register(world1);
+        eventBus.registerWeak(new GuardTest("world2"));
+        eventBus.register(GuardTest.class);
+
+        enabled = true;
+        System.out.println(" Only world1 listener and static listener");
+        eventBus.call(new WorldEvent("world1"));
+        enabled = false;
+        System.out.println(" Only world1 listener");
+        eventBus.call(new WorldEvent("world1"));
+        System.out.println(" No calls");
+        eventBus.call(new WorldEvent("world3"));
+
+        eventBus.register(CancellingGuard.class);
+        eventBus.register(AfterGuard.class);
+        System.out.println(" Cancelled by guard, listener after it skipped: " + !eventBus.call(new CancelEvent()).afterCalled);
+    }
+
+
+    private final String world;
+
+    public GuardTest(final String world) {
+        this.world = world;
+    }
+
+    public boolean isWorld(final WorldEvent event) {
+        return event.world.equals(this.world);
+    }
+
+    private boolean isPrivateWorld(final WorldEvent event) {
+        return event.world.equals(this.world);
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventTarget(guard = "isWorld")
+    public void onDirect(final WorldEvent event) {
+        System.out.println("  Direct " + this.world);
+    }
+
+    @EventTarget(guard = "isWorld")
+    void onWrapped(final WorldEvent event) {
+        System.out.println("  Wrapped " + this.world);
+    }
+
+    @EventTarget(guard = "isPrivateWorld")
+    public void onPrivateGuard(final WorldEvent event) {
+        System.out.println("  Private guard " + this.world);
+    }
+
+    @EventTarget(guard = "isEnabled")
+    public static void onStatic(final WorldEvent event) {
+        System.out.println("  Static " + event.world);
+    }
+
+
+    public static class WorldEvent implements IEvent {
+
+        private final String world;
+
+        public WorldEvent(final String world) {
+            this.world = world;
+        }
+
+    }
+
+    public static class CancelEvent extends CancellableEvent {
+
+        private boolean afterCalled;
+
+    }
+
+    public static class CancellingGuard {
+
+        public static boolean cancel(final CancelEvent event) {
+            event.setCancelled(true);
+            return false;
+        }
+
+        @EventTarget(skipCancelled = true, guard = "cancel")
+        public static void onGuarded(final CancelEvent event) {
+        }
+
+    }
+
+    public static class AfterGuard {
+
+        @EventTarget(skipCancelled = true)
+        public static void onAfter(final CancelEvent event) {
+            event.afterCalled = true;
+        }
+
+    }
+
+    public static class InvalidGuard {
+
+        @EventTarget(guard = "missing")
+        public void onEvent(final WorldEvent event) {
+        }
+
+    }
+
+}
@@ -0,0 +1,83 @@
+package net.lenni0451.asmevents;
+
+import net.lenni0451.asmevents.event.EventTarget;
+import net.lenni0451.asmevents.event.IEvent;
+import net.lenni0451.asmevents.event.enums.EnumEventPriority;
+
+public class HierarchyTest {
+
+    public static void main(String[] args) {
+        EventManager.register(HierarchyTest.class);
+        System.out.println("Player, marker and catch-all call");
+        EventManager.call(new JoinEvent());
+
+        EventManager.register(new HierarchyTest());
+        System.out.println("Additional join call first (registered after the first call)");
+        EventManager.call(new JoinEvent());
+
+        EventManager.unregister(HierarchyTest.class);
+        System.out.println("Only join call");
+        EventManager.call(new JoinEvent());
+
+        EventManager.register(MarkerListener.class);
+        EventManager.register(PlayerListener.class);
+        EventManager.register(JoinListener.class);
+        System.out.println("Same priority: nearest event type first, then registration order (join, marker, player)");
+        EventManager.call(new LateJoinEvent());
+    }
+
+    @EventTarget
+    public static void onPlayer(final PlayerEvent event) {
+        System.out.println("Player event " + event.getClass().getSimpleName());
+    }
+
+    @EventTarget(priority = EnumEventPriority.LOW)
+    public static void onMarker(final IMarkerEvent event) {
+        System.out.println("Marker event " + event.getClass().getSimpleName());
+    }
+
+    @EventTarget(priority = EnumEventPriority.LOWEST)
+    public static void onAll(final IEvent event) {
+        System.out.println("Catch-all " + event.getClass().getSimpleName());
+    }
+
+    @EventTarget(priority = EnumEventPriority.HIGH)
+    public void onJoin(final JoinEvent event) {
+        System.out.println("Join event " + event.getClass().getSimpleName());
+    }
+
+
+    public interface IMarkerEvent extends IEvent {
+    }
+
+    public static abstract class PlayerEvent implements IEvent {
+    }
+
+    public static class JoinEvent extends PlayerEvent implements IMarkerEvent {
+    }
+
+    public static class LateJoinEvent extends JoinEvent {
+    }
+
+    public static class MarkerListener {
+        @EventTarget(priority = EnumEventPriority.LOW)
+        public static void onMarker(final IMarkerEvent event) {
+            System.out.println(" Marker");
+        }
+    }
+
+    public static class PlayerListener {
+        @EventTarget(priority = EnumEventPriority.LOW)
+        public static void onPlayer(final PlayerEvent event) {
+            System.out.println(" Player");
+        }
+    }
+
+    public static class JoinListener {
+        @EventTarget(priority = EnumEventPriority.LOW)
+        public static void onJoin(final JoinEvent event) {
+            System.out.println(" Join");
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+package net.lenni0451.asmevents;
+
+import net.lenni0451.asmevents.event.EnumPipelineSafety;
+import net.lenni0451.asmevents.event.EventTarget;
+import net.lenni0451.asmevents.event.PipelineSafety;
+import net.lenni0451.asmevents.event.enums.EnumEventPriority;
+import net.lenni0451.asmevents.event.types.IKeyedEvent;
+import net.lenni0451.asmevents.event.wrapper.CancellableEvent;
+
+public class KeyedEventTest {
+
+    public static void main(String[] args) {
+        test(0);
+        test(100);
+    }
+
+    private static void test(final int compileThreshold) {
+        System.out.println("Compile threshold: " + compileThreshold);
+        final EventBus eventBus = new EventBus();
+        eventBus.setCompileThreshold(compileThreshold);
+        eventBus.register(KeyedEventTest.class);
+
+        System.out.println(" Key 1: first, one or two, all, last");
+        eventBus.call(new PacketEvent(1));
+        System.out.println(" Key 2: first, one or two, two, all");
+        eventBus.call(new PacketEvent(2));
+        System.out.println(" Key 5000: all, sparse");
+        eventBus.call(new PacketEvent(5000));
+        System.out.println(" Key 3: all");
+        eventBus.call(new PacketEvent(3));
+
+        //Every listener is only generated once, no matter for how many keys it is registered
+        for (int i = 0; i < 48; i++) eventBus.register(new ManyKeysListener());
+        final SafePacketEvent event = eventBus.call(new SafePacketEvent(39));
+        System.out.println(" 48 listener with 40 keys: " + event.calls + " calls");
+    }
+
+    @EventTarget(keys = 1, priority = EnumEventPriority.LOWEST)
+    public static void last(PacketEvent event) {
+        System.out.println("  Last " + event.getKey());
+    }
+
+    @EventTarget(keys = {1, 2}, priority = EnumEventPriority.HIGHEST)
+    public static void first(PacketEvent event) {
+        System.out.println("  First " + event.getKey());
+    }
+
+    @EventTarget(keys = {2, 1}, priority = EnumEventPriority.HIGHER)
+    public static void oneOrTwo(PacketEvent event) {
+        System.out.println("  One or two " + event.getKey());
+    }
+
+    @EventTarget(keys = 2, priority = EnumEventPriority.HIGH)
+    public static void two(PacketEvent event) {
+        System.out.println("  Two " + event.getKey());
+    }
+
+    @EventTarget(keys = {-100000, 5000}, priority = EnumEventPriority.LOW)
+    public static void sparse(PacketEvent event) {
+        System.out.println("  Sparse " + event.getKey());
+    }
+
+    @EventTarget
+    public static void all(PacketEvent event) {
+        System.out.println("  All " + event.getKey());
+    }
+
+
+    public static class ManyKeysListener {
+
+        @EventTarget(keys = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, 21, 22, 23, 24, 25, 26, 27, 28, 29, 30, 31, 32, 33, 34, 35, 36, 37, 38, 39}, skipCancelled = true)
+        public void onPacket(final SafePacketEvent event) {
+            event.calls++;
+        }
+
+    }
+
+    @PipelineSafety(EnumPipelineSafety.ERROR_LISTENER)
+    public static class SafePacketEvent extends CancellableEvent implements IKeyedEvent {
+
+        private final int id;
+        private int calls;
+
+        public SafePacketEvent(final int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int getKey() {
+            return this.id;
+        }
+
+    }
+
+    public static class PacketEvent implements IKeyedEvent {
+
+        private final int id;
+
+        public PacketEvent(final int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int getKey() {
+            return this.id;
+        }
+
+    }
+
+}
@@ -0,0 +1,56 @@
+package net.lenni0451.asmevents;
+
+import net.lenni0451.asmevents.event.EventTarget;
+
+public class LazyPipelineTest {
+
+    public static void main(String[] args) {
+        final EventBus eventBus = new EventBus();
+        eventBus.setLazyPipelines(true);
+
+        long start = System.nanoTime();
+        eventBus.register(new LazyPipelineTest());
+        System.out.println("Registered in " + (System.nanoTime() - start) / 1000 + "us (no pipeline generated)");
+
+        start = System.nanoTime();
+        eventBus.warm(TestEvent1.class);
+        System.out.println("Warmed TestEvent1 in " + (System.nanoTime() - start) / 1000 + "us");
+
+        start = System.nanoTime();
+        eventBus.call(new TestEvent2());
+        System.out.println("First TestEvent2 call in " + (System.nanoTime() - start) / 1000 + "us");
+
+        System.out.println("Two calls");
+        eventBus.register(LazyPipelineTest.class);
+        eventBus.call(new TestEvent1());
+        System.out.println("One call");
+        eventBus.unregister(new LazyPipelineTest());
+        eventBus.call(new TestEvent1());
+    }
+
+    @EventTarget
+    public void onEvent1(final TestEvent1 event) {
+        System.out.println("Instance " + event.getClass().getSimpleName());
+    }
+
+    @EventTarget
+    public static void onStatic(final TestEvent1 event) {
+        System.out.println("Static " + event.getClass().getSimpleName());
+    }
+
+    @EventTarget
+    public void onEvent2(final TestEvent2 event) {
+        System.out.println("Instance " + event.getClass().getSimpleName());
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        return obj instanceof LazyPipelineTest;
+    }
+
+    @Override
+    public int hashCode() {
+        return 0;
+    }
+
+}
@@ -0,0 +1,57 @@
+package net.lenni0451.asmevents;
+
+import net.lenni0451.asmevents.event.EnumPipelineSafety;
+import net.lenni0451.asmevents.event.EventTarget;
+import net.lenni0451.asmevents.event.IEvent;
+import net.lenni0451.asmevents.event.PipelineSafety;
+import net.lenni0451.asmevents.metrics.ListenerMetricsSnapshot;
+
+public class MetricsTest {
+
+    public static void main(String[] args) {
+        for (int compileThreshold : new int[]{0, 50}) {
+            System.out.println("Compile threshold: " + compileThreshold);
+            final EventBus eventBus = new EventBus();
+            eventBus.setCompileThreshold(compileThreshold);
+            eventBus.register(MetricsTest.class);
+            eventBus.call(new TestEvent2()); //Called without metrics
+            eventBus.setMetrics(true);
+
+            for (int i = 0; i < 100; i++) {
+                eventBus.call(new TestEvent2());
+                eventBus.call(new FailingEvent());
+            }
+            for (ListenerMetricsSnapshot snapshot : eventBus.getMetrics()) System.out.println(snapshot);
+
+            eventBus.unregister(FailingEvent.class, MetricsTest.class);
+            System.out.println("Metrics after unregistering onFail: " + eventBus.getMetrics().size());
+
+            eventBus.resetMetrics();
+            for (ListenerMetricsSnapshot snapshot : eventBus.getMetrics()) System.out.println(snapshot);
+            eventBus.setMetrics(false);
+            eventBus.call(new TestEvent2()); //Called without metrics
+            System.out.println("Metrics after disabling: " + eventBus.getMetrics().size());
+        }
+    }
+
+    @EventTarget
+    public static void onFast(final TestEvent2 event) {
+    }
+
+    @EventTarget
+    public static void onSlow(final TestEvent2 event) {
+        final long end = System.nanoTime() + 10_000;
+        while (System.nanoTime() < end) ;
+    }
+
+    @EventTarget
+    public static void onFail(final FailingEvent event) {
+        throw new IllegalStateException("Test");
+    }
+
+
+    @PipelineSafety(EnumPipelineSafety.IGNORE)
+    public static class FailingEvent implements IEvent {
+    }
+
+}
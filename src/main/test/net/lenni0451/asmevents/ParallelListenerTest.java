@@ -0,0 +1,118 @@
+package net.lenni0451.asmevents;
+
+import net.lenni0451.asmevents.event.EventTarget;
+import net.lenni0451.asmevents.event.enums.EnumEventPriority;
+import net.lenni0451.asmevents.event.wrapper.StoppableEvent;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ParallelListenerTest {
+
+    public static void main(String[] args) {
+        for (int compileThreshold : new int[]{0, 100}) {
+            System.out.println("Compile threshold: " + compileThreshold);
+            test(compileThreshold);
+        }
+    }
+
+    private static void test(final int compileThreshold) {
+        final EventBus eventBus = new EventBus();
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        eventBus.setCompileThreshold(compileThreshold);
+        eventBus.setParallelPool(pool);
+        eventBus.register(ParallelListenerTest.class);
+
+        final AnalyticsEvent event = eventBus.call(new AnalyticsEvent(false));
+        System.out.println(" Parallel calls: " + event.parallelCalls.get() + " | Multiple threads: " + (event.threads.size() > 1) + " | Calls seen by the next priority: " + event.seenByNextPriority);
+
+        final long start = System.nanoTime();
+        eventBus.call(new AnalyticsEvent(false));
+        System.out.println(" 4 listener sleeping 100ms took less than 300ms: " + ((System.nanoTime() - start) / 1_000_000 < 300));
+
+        final AnalyticsEvent stopped = eventBus.call(new AnalyticsEvent(true));
+        System.out.println(" Stopped | Parallel calls: " + stopped.parallelCalls.get() + " | Next priority called: " + (stopped.seenByNextPriority != -1));
+
+        System.out.println(" Exceptions");
+        eventBus.register(FailingListener.class);
+        eventBus.setErrorListener(t -> System.out.println("  " + t.getMessage() + " with " + t.getSuppressed().length + " suppressed"));
+        final AnalyticsEvent failing = eventBus.call(new AnalyticsEvent(false));
+        System.out.println("  Parallel calls: " + failing.parallelCalls.get() + " | Next priority called: " + (failing.seenByNextPriority != -1));
+        pool.shutdown();
+    }
+
+    @EventTarget(priority = EnumEventPriority.HIGHEST)
+    public static void first(final AnalyticsEvent event) {
+        if (event.stop) event.setCancelled(true);
+    }
+
+    @EventTarget(priority = EnumEventPriority.LOW)
+    public static void sequential(final AnalyticsEvent event) {
+        if (event.parallelCalls.get() != 0) System.out.println(" Sequential listener called after the parallel listener");
+    }
+
+    @EventTarget(priority = EnumEventPriority.LOW, parallel = true)
+    public static void parallel1(final AnalyticsEvent event) {
+        event.work();
+    }
+
+    @EventTarget(priority = EnumEventPriority.LOW, parallel = true)
+    public static void parallel2(final AnalyticsEvent event) {
+        event.work();
+    }
+
+    @EventTarget(priority = EnumEventPriority.LOW, parallel = true)
+    public static void parallel3(final AnalyticsEvent event) {
+        event.work();
+    }
+
+    @EventTarget(priority = EnumEventPriority.LOW, parallel = true)
+    public static void parallel4(final AnalyticsEvent event) {
+        event.work();
+    }
+
+    @EventTarget(priority = EnumEventPriority.LOWEST)
+    public static void last(final AnalyticsEvent event) {
+        event.seenByNextPriority = event.parallelCalls.get();
+    }
+
+
+    public static class AnalyticsEvent extends StoppableEvent {
+
+        private final boolean stop;
+        private final AtomicInteger parallelCalls = new AtomicInteger();
+        private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        private int seenByNextPriority = -1;
+
+        public AnalyticsEvent(final boolean stop) {
+            this.stop = stop;
+        }
+
+        private void work() {
+            this.threads.add(Thread.currentThread());
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException ignored) {
+            }
+            this.parallelCalls.incrementAndGet();
+        }
+
+    }
+
+    public static class FailingListener {
+
+        @EventTarget(priority = EnumEventPriority.LOW, parallel = true)
+        public static void fail1(final AnalyticsEvent event) {
+            throw new IllegalStateException("Parallel listener failed");
+        }
+
+        @EventTarget(priority = EnumEventPriority.LOW, parallel = true)
+        public static void fail2(final AnalyticsEvent event) {
+            throw new IllegalStateException("Parallel listener failed");
+        }
+
+    }
+
+}
@@ -0,0 +1,146 @@
+package net.lenni0451.asmevents;
+
+import net.lenni0451.asmevents.event.EnumPipelineSafety;
+import net.lenni0451.asmevents.event.EventTarget;
+import net.lenni0451.asmevents.event.PipelineSafety;
+import net.lenni0451.asmevents.event.enums.EnumEventPriority;
+import net.lenni0451.asmevents.event.types.IPayloadEvent;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+
+public class PayloadEventTest {
+
+    private static double sum = 0;
+
+    public static void main(String[] args) throws InterruptedException {
+        final EventBus eventBus = new EventBus();
+        final PositionEvent invoker = eventBus.getInvoker(PositionEvent.class);
+        invoker.call(1, 2, 3); //No listener registered yet
+
+        final PayloadEventTest listener = new PayloadEventTest();
+        eventBus.register(PayloadEventTest.class);
+        eventBus.register(listener);
+        eventBus.registerWeak(new WeakListener());
+        System.out.println("Same invoker: " + (invoker == eventBus.getInvoker(PositionEvent.class)));
+        invoker.call(5, 1.5, -2.5);
+
+        eventBus.unregister(listener);
+        System.out.println("After unregister");
+        invoker.call(6, 0, 0);
+
+        System.out.println("Error listener");
+        eventBus.register(FailingListener.class);
+        eventBus.setErrorListener(t -> System.out.println(" Caught " + t.getMessage()));
+        eventBus.getInvoker(FailingEvent.class).call('a', true);
+        eventBus.unregister(FailingListener.class);
+
+        try {
+            eventBus.register(WrongListener.class);
+            System.out.println("Wrong listener registered");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Rejected: " + e.getMessage());
+        }
+        try {
+            eventBus.getInvoker(BrokenEvent.class);
+            System.out.println("Broken event accepted");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Rejected: " + e.getMessage());
+        }
+
+        System.out.println("Event bus collected after its invoker was created: " + isBusCollected());
+
+        final EventBus speedBus = new EventBus();
+        speedBus.register(CountingListener.class);
+        final PositionEvent speedInvoker = speedBus.getInvoker(PositionEvent.class);
+        for (int i = 0; i < 3; i++) {
+            System.out.println("Allocated bytes for 1,000,000 payload calls: " + measure(() -> {
+                for (int id = 0; id < 1_000_000; id++) speedInvoker.call(id, id * 0.5, id * 2D);
+            }));
+        }
+        System.out.println("Sum: " + sum);
+    }
+
+    private static boolean isBusCollected() throws InterruptedException {
+        EventBus eventBus = new EventBus();
+        final WeakReference<EventBus> reference = new WeakReference<>(eventBus);
+        eventBus.register(CountingListener.class);
+        eventBus.getInvoker(PositionEvent.class).call(0, 0, 0);
+
+        eventBus = null;
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        return reference.get() == null;
+    }
+
+    private static long measure(final Runnable runnable) {
+        final com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long before = threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        runnable.run();
+        return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId()) - before;
+    }
+
+    @EventTarget(noParamEvents = PositionEvent.class, priority = EnumEventPriority.HIGHEST)
+    public static void onPositionStatic(final long id, final double x, final double y) {
+        System.out.println(" Static: " + id + " " + x + " " + y);
+    }
+
+    @EventTarget(noParamEvents = PositionEvent.class, priority = EnumEventPriority.HIGH)
+    public void onPosition(final long id, final double x, final double y) {
+        System.out.println(" Instance: " + id + " " + x + " " + y);
+    }
+
+    @EventTarget(noParamEvents = PositionEvent.class, priority = EnumEventPriority.NORMAL)
+    private void onPositionPrivate(final long id, final double x, final double y) {
+        System.out.println(" Private: " + id + " " + x + " " + y);
+    }
+
+
+    public interface PositionEvent extends IPayloadEvent {
+        void call(final long id, final double x, final double y);
+    }
+
+    @PipelineSafety(EnumPipelineSafety.ERROR_LISTENER)
+    public interface FailingEvent extends IPayloadEvent {
+        void call(final char c, final boolean b);
+    }
+
+    public interface BrokenEvent extends IPayloadEvent {
+        int call(final int i);
+    }
+
+    public static class WeakListener {
+        @EventTarget(noParamEvents = PositionEvent.class, priority = EnumEventPriority.LOW)
+        public void onPosition(final long id, final double x, final double y) {
+            System.out.println(" Weak: " + id + " " + x + " " + y);
+        }
+    }
+
+    public static class FailingListener {
+        @EventTarget(noParamEvents = FailingEvent.class)
+        public static void onFail(final char c, final boolean b) {
+            throw new IllegalStateException("Failed with " + c + " " + b);
+        }
+
+        @EventTarget(noParamEvents = FailingEvent.class, priority = EnumEventPriority.LOWEST)
+        public static void afterFail(final char c, final boolean b) {
+            System.out.println(" Called after the failing listener");
+        }
+    }
+
+    public static class WrongListener {
+        @EventTarget(noParamEvents = PositionEvent.class)
+        public static void onPosition(final int id) {
+        }
+    }
+
+    public static class CountingListener {
+        @EventTarget(noParamEvents = PositionEvent.class)
+        public static void onPosition(final long id, final double x, final double y) {
+            sum += x + y;
+        }
+    }
+
+}
@@ -0,0 +1,93 @@
+package net.lenni0451.asmevents;
+
+import net.lenni0451.asmevents.event.EventTarget;
+import net.lenni0451.asmevents.event.enums.EnumEventType;
+import net.lenni0451.asmevents.event.wrapper.CancellableEvent;
+import net.lenni0451.asmevents.event.wrapper.TypedEvent;
+import net.lenni0451.asmevents.pool.EventPool;
+import net.lenni0451.asmevents.pool.ThreadLocalEventPool;
+
+import java.lang.management.ManagementFactory;
+
+public class PooledEventTest {
+
+    private static long sum = 0;
+
+    public static void main(String[] args) {
+        final EventBus eventBus = new EventBus();
+        eventBus.register(new PooledEventTest());
+
+        final EventPool<TickEvent> pool = new EventPool<>(TickEvent::new);
+        final TickEvent first = pool.acquire();
+        first.entityId = 5;
+        first.setCancelled(true);
+        pool.release(first);
+        final TickEvent second = pool.acquire();
+        System.out.println("Reused: " + (first == second) + " | Reset: " + (!second.isCancelled() && second.entityId == 0));
+        pool.release(second);
+
+        final TypedEvent typed = new TypedEvent(EnumEventType.PRE);
+        typed.setType(EnumEventType.POST);
+        typed.reset();
+        System.out.println("Typed reset: " + typed.getType());
+
+        final ThreadLocalEventPool<TickEvent> threadPool = new ThreadLocalEventPool<>(TickEvent::new);
+        for (int i = 0; i < 3; i++) {
+            System.out.println("Allocated bytes for 1,000,000 pooled calls: " + measure(() -> {
+                for (int id = 0; id < 1_000_000; id++) {
+                    final TickEvent event = threadPool.acquire();
+                    event.entityId = id;
+                    eventBus.call(event);
+                    threadPool.release(event);
+                }
+            }));
+        }
+
+        System.out.println("Retention check");
+        final EventBus retainingBus = new EventBus();
+        retainingBus.register(new RetainingListener());
+        retainingBus.setErrorListener(t -> System.out.println(" " + t.getMessage()));
+        pool.setRetentionCheck(retainingBus);
+        final TickEvent retained = pool.acquire();
+        retainingBus.call(retained);
+        pool.release(retained);
+        System.out.println(" Retained event reused: " + (pool.acquire() == retained));
+    }
+
+    private static long measure(final Runnable runnable) {
+        final com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long before = threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        runnable.run();
+        return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId()) - before;
+    }
+
+    @EventTarget
+    public void onTick(final TickEvent event) {
+        sum += event.entityId;
+    }
+
+
+    public static class TickEvent extends CancellableEvent {
+
+        private int entityId;
+
+        @Override
+        public void reset() {
+            super.reset();
+            this.entityId = 0;
+        }
+
+    }
+
+    public static class RetainingListener {
+
+        private TickEvent lastEvent;
+
+        @EventTarget
+        public void onTick(final TickEvent event) {
+            this.lastEvent = event;
+        }
+
+    }
+
+}
@@ -0,0 +1,40 @@
+package net.lenni0451.asmevents;
+
+import net.lenni0451.asmevents.event.EventTarget;
+import net.lenni0451.asmevents.utils.PregeneratedWrappers;
+
+public class PregeneratedWrapperTest {
+
+    /**
+     * Compile with the EventTargetProcessor on the annotation processor path to use the pregenerated wrappers<br>
+     * Without it the wrappers are generated at runtime and the calls behave the same
+     */
+    public static void main(String[] args) throws Throwable {
+        System.out.println("Static wrapper: " + PregeneratedWrappers.findWrapper(PregeneratedWrapperTest.class.getDeclaredMethod("onStatic", TestEvent2.class, int.class), TestEvent2.class));
+        System.out.println("Overload wrapper: " + PregeneratedWrappers.findWrapper(PregeneratedWrapperTest.class.getDeclaredMethod("onStatic", TestEvent2.class, long.class), TestEvent2.class));
+        System.out.println("Instance wrapper: " + PregeneratedWrappers.findWrapper(PregeneratedWrapperTest.class.getDeclaredMethod("onEvent", TestEvent1.class, TestEvent2.class), TestEvent2.class));
+
+        final EventBus eventBus = new EventBus();
+        eventBus.setDirectInvocation(false);
+        eventBus.register(PregeneratedWrapperTest.class);
+        eventBus.register(new PregeneratedWrapperTest());
+        eventBus.call(new TestEvent1());
+        eventBus.call(new TestEvent2());
+    }
+
+    @EventTarget
+    public static void onStatic(final TestEvent2 event, final int i) {
+        System.out.println("Static " + event.getClass().getSimpleName() + " " + i);
+    }
+
+    @EventTarget
+    public static void onStatic(final TestEvent2 event, final long l) {
+        System.out.println("Static overload " + event.getClass().getSimpleName() + " " + l);
+    }
+
+    @EventTarget
+    public void onEvent(final TestEvent1 event1, final TestEvent2 event2) {
+        System.out.println("Instance " + event1 + " " + event2);
+    }
+
+}
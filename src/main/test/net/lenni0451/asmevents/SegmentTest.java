@@ -0,0 +1,94 @@
+package net.lenni0451.asmevents;
+
+import net.lenni0451.asmevents.event.EventTarget;
+import net.lenni0451.asmevents.event.enums.EnumEventPriority;
+
+public class SegmentTest {
+
+    public static void main(String[] args) {
+        final SegmentTest instance = new SegmentTest();
+        EventManager.register(SegmentTest.class);
+        System.out.println("Highest, normal and lowest");
+        EventManager.call(new TestEvent1());
+
+        EventManager.register(instance);
+        System.out.println("All priorities in order");
+        EventManager.call(new TestEvent1());
+
+        EventManager.unregister(instance);
+        System.out.println("Highest, normal and lowest");
+        EventManager.call(new TestEvent1());
+
+        final EventBus eventBus = new EventBus();
+        eventBus.register(new RegisteringListener(eventBus));
+        System.out.println("Listener registered during a call are not called by it");
+        eventBus.call(new TestEvent2());
+        System.out.println("All listener");
+        eventBus.call(new TestEvent2());
+    }
+
+    @EventTarget(priority = EnumEventPriority.HIGHEST)
+    public static void highest(TestEvent1 event) {
+        System.out.println(" Highest");
+    }
+
+    @EventTarget(priority = EnumEventPriority.HIGH)
+    public void high(TestEvent1 event) {
+        System.out.println(" High");
+    }
+
+    @EventTarget
+    public static void normal(TestEvent1 event) {
+        System.out.println(" Normal");
+    }
+
+    @EventTarget(priority = EnumEventPriority.LOW)
+    public void low(TestEvent1 event) {
+        System.out.println(" Low");
+    }
+
+    @EventTarget(priority = EnumEventPriority.LOWEST)
+    public static void lowest(TestEvent1 event) {
+        System.out.println(" Lowest");
+    }
+
+
+
+    public static class RegisteringListener {
+
+        private final EventBus eventBus;
+        private boolean registered;
+
+        public RegisteringListener(final EventBus eventBus) {
+            this.eventBus = eventBus;
+        }
+
+        @EventTarget(priority = EnumEventPriority.HIGHEST)
+        public void register(final TestEvent2 event) {
+            if (this.registered) return;
+            this.registered = true;
+            this.eventBus.register(LateListener.class);
+        }
+
+        @EventTarget
+        public void normal(final TestEvent2 event) {
+            System.out.println(" Normal");
+        }
+
+    }
+
+    public static class LateListener {
+
+        @EventTarget(priority = EnumEventPriority.HIGH)
+        public static void high(final TestEvent2 event) {
+            System.out.println(" Late high");
+        }
+
+        @EventTarget(priority = EnumEventPriority.LOW)
+        public static void low(final TestEvent2 event) {
+            System.out.println(" Late low");
+        }
+
+    }
+
+}
@@ -0,0 +1,90 @@
+package net.lenni0451.asmevents;
+
+import net.lenni0451.asmevents.event.EventTarget;
+import net.lenni0451.asmevents.event.enums.EnumEventPriority;
+import net.lenni0451.asmevents.event.enums.EnumEventType;
+import net.lenni0451.asmevents.event.types.ICancellableEvent;
+import net.lenni0451.asmevents.event.types.ITypedEvent;
+
+public class SpecializedPipelineTest {
+
+    public static void main(String[] args) {
+        for (int compileThreshold : new int[]{0, 100}) {
+            System.out.println("Compile threshold: " + compileThreshold);
+            final EventBus eventBus = new EventBus();
+            eventBus.setCompileThreshold(compileThreshold);
+            eventBus.register(SpecializedPipelineTest.class);
+
+            for (EnumEventType type : EnumEventType.values()) {
+                final CountingEvent event = new CountingEvent(type);
+                eventBus.call(event);
+                System.out.println(" " + type + ": " + event.called + "| getType: " + event.typeCalls + " | isCancelled: " + event.cancelledCalls);
+            }
+        }
+    }
+
+    @EventTarget(priority = EnumEventPriority.HIGHEST)
+    public static void all(final CountingEvent event) {
+        event.called += "all ";
+    }
+
+    @EventTarget(priority = EnumEventPriority.HIGHEST, type = EnumEventType.PRE)
+    public static void preCancel(final CountingEvent event) {
+        event.called += "preCancel ";
+        event.cancelled = true;
+    }
+
+    @EventTarget(priority = EnumEventPriority.HIGHEST, type = EnumEventType.POST, skipCancelled = true)
+    public static void postSkipCancelled(final CountingEvent event) {
+        event.called += "postSkipCancelled ";
+    }
+
+    @EventTarget(priority = EnumEventPriority.HIGHEST, type = EnumEventType.PRE, skipCancelled = true)
+    public static void preSkipCancelled(final CountingEvent event) {
+        event.called += "preSkipCancelled ";
+    }
+
+    @EventTarget(priority = EnumEventPriority.HIGHEST, type = EnumEventType.PRE)
+    public static void preUncancel(final CountingEvent event) {
+        event.called += "preUncancel ";
+        event.cancelled = false;
+    }
+
+    @EventTarget(priority = EnumEventPriority.HIGHEST, skipCancelled = true)
+    public static void allSkipCancelled(final CountingEvent event) {
+        event.called += "allSkipCancelled ";
+    }
+
+
+    public static class CountingEvent implements ITypedEvent, ICancellableEvent {
+
+        private final EnumEventType type;
+        private boolean cancelled;
+        private String called = "";
+        private int typeCalls;
+        private int cancelledCalls;
+
+        public CountingEvent(final EnumEventType type) {
+            this.type = type;
+        }
+
+        @Override
+        public EnumEventType getType() {
+            this.typeCalls++;
+            return this.type;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            this.cancelledCalls++;
+            return this.cancelled;
+        }
+
+        @Override
+        public void setCancelled(final boolean cancelled) {
+            this.cancelled = cancelled;
+        }
+
+    }
+
+}
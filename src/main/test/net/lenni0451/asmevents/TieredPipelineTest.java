@@ -0,0 +1,108 @@
+package net.lenni0451.asmevents;
+
+import net.lenni0451.asmevents.event.EventTarget;
+import net.lenni0451.asmevents.event.enums.EnumEventPriority;
+import net.lenni0451.asmevents.event.enums.EnumEventType;
+import net.lenni0451.asmevents.event.wrapper.CancellableEvent;
+import net.lenni0451.asmevents.event.wrapper.StoppableEvent;
+import net.lenni0451.asmevents.event.wrapper.TypedEvent;
+
+import java.lang.ref.WeakReference;
+
+public class TieredPipelineTest {
+
+    private static final int COMPILE_THRESHOLD = 3;
+
+    public static void main(String[] args) throws InterruptedException {
+        final EventBus eventBus = new EventBus();
+        eventBus.setCompileThreshold(COMPILE_THRESHOLD);
+        eventBus.register(TieredPipelineTest.class);
+
+        //The interpreted and the generated pipeline have to print the same
+        for (int i = 1; i <= COMPILE_THRESHOLD + 1; i++) {
+            System.out.println("Call " + i + (i <= COMPILE_THRESHOLD ? " (interpreted)" : " (generated)"));
+            eventBus.call(new TestEvent2());
+            eventBus.call(new Cancel());
+            eventBus.call(new Stop());
+            eventBus.call(new Typed(EnumEventType.PRE));
+            eventBus.call(new Typed(EnumEventType.POST));
+        }
+
+        System.out.println("Interpreted again after a change");
+        eventBus.register(new TieredPipelineTest());
+        eventBus.call(new TestEvent2());
+
+        System.out.println("Event bus collected with an interpreted pipeline: " + isBusCollected());
+    }
+
+    private static boolean isBusCollected() throws InterruptedException {
+        EventBus eventBus = new EventBus();
+        final WeakReference<EventBus> reference = new WeakReference<>(eventBus);
+        eventBus.setCompileThreshold(COMPILE_THRESHOLD);
+        eventBus.register(TieredPipelineTest.class);
+        eventBus.call(new TestEvent2());
+
+        eventBus = null;
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        return reference.get() == null;
+    }
+
+    @EventTarget
+    public static void onEvent(final TestEvent2 event, final int i, final String s) {
+        System.out.println(" TestEvent2 " + i + " " + s);
+    }
+
+    @EventTarget(noParamEvents = TestEvent2.class)
+    public void onInstance() {
+        System.out.println(" Instance without parameter");
+    }
+
+    @EventTarget(priority = EnumEventPriority.HIGH)
+    public static void cancel(final Cancel event) {
+        event.setCancelled(true);
+    }
+
+    @EventTarget(skipCancelled = true)
+    public static void onCancel(final Cancel event) {
+        System.out.println(" Should not call");
+    }
+
+    @EventTarget
+    public static long onCancelled(final Cancel event) {
+        System.out.println(" Cancelled " + event.isCancelled());
+        return 0;
+    }
+
+    @EventTarget(priority = EnumEventPriority.HIGH)
+    public static void stop(final Stop event) {
+        event.setCancelled(true);
+        System.out.println(" Stopped");
+    }
+
+    @EventTarget
+    public static void onStop(final Stop event) {
+        System.out.println(" Should not call");
+    }
+
+    @EventTarget(type = EnumEventType.PRE)
+    public static void onPre(final Typed event) {
+        System.out.println(" Pre " + event.getType());
+    }
+
+
+    public static class Cancel extends CancellableEvent {
+    }
+
+    public static class Stop extends StoppableEvent {
+    }
+
+    public static class Typed extends TypedEvent {
+        public Typed(final EnumEventType type) {
+            super(type);
+        }
+    }
+
+}
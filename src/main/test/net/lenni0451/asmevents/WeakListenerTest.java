@@ -0,0 +1,62 @@
+package net.lenni0451.asmevents;
+
+import net.lenni0451.asmevents.event.EventTarget;
+
+import java.lang.ref.WeakReference;
+
+public class WeakListenerTest {
+
+    private static int calls = 0;
+
+    public static void main(String[] args) throws InterruptedException {
+        test(0);
+        test(100);
+    }
+
+    private static void test(final int compileThreshold) throws InterruptedException {
+        System.out.println("Compile threshold: " + compileThreshold);
+        final EventBus eventBus = new EventBus();
+        eventBus.setCompileThreshold(compileThreshold);
+        eventBus.register(WeakListenerTest.class);
+
+        WeakListenerTest listener = new WeakListenerTest();
+        final WeakReference<WeakListenerTest> reference = new WeakReference<>(listener);
+        eventBus.registerWeak(listener);
+        calls = 0;
+        eventBus.call(new TestEvent1());
+        System.out.println(" Calls before collection: " + calls + "/2");
+
+        listener = null;
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        System.out.println(" Collected: " + (reference.get() == null));
+        calls = 0;
+        eventBus.call(new TestEvent1());
+        System.out.println(" Calls after collection: " + calls + "/1");
+
+        eventBus.cleanUp();
+        calls = 0;
+        eventBus.call(new TestEvent1());
+        System.out.println(" Calls after clean up: " + calls + "/1");
+
+        try {
+            eventBus.registerWeak(WeakListenerTest.class);
+            System.out.println(" Static weak listener registered");
+        } catch (IllegalArgumentException e) {
+            System.out.println(" Static weak listener rejected");
+        }
+    }
+
+    @EventTarget
+    public static void onStatic(TestEvent1 event) {
+        calls++;
+    }
+
+    @EventTarget
+    public void onEvent(TestEvent1 event) {
+        calls++;
+    }
+
+}